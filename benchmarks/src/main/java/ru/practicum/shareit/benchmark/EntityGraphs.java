@@ -0,0 +1,92 @@
+package ru.practicum.shareit.benchmark;
+
+import lombok.experimental.UtilityClass;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.comment.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@UtilityClass
+public class EntityGraphs {
+    public static final LocalDateTime NOW = LocalDateTime.of(2030, 6, 1, 12, 0);
+
+    public User user(long id) {
+        User user = new User();
+        user.setId(id);
+        user.setName("user " + id);
+        user.setEmail("user" + id + "@shareit.ru");
+        return user;
+    }
+
+    public List<Item> ownerItems(User owner, int count) {
+        List<Item> items = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            Item item = new Item();
+            item.setId((long) i);
+            item.setName("Дрель " + i);
+            item.setDescription("Аккумуляторная дрель с двумя батареями и набором свёрл, вариант " + i);
+            item.setAvailable(i % 5 != 0);
+            item.setOwner(owner);
+            if (i % 3 == 0) {
+                ItemRequest request = new ItemRequest();
+                request.setId((long) i);
+                request.setDescription("Нужна дрель " + i);
+                request.setAuthor(user(1000 + i));
+                request.setCreated(NOW.minusDays(i));
+                item.setItemRequest(request);
+            }
+            items.add(item);
+        }
+        return items;
+    }
+
+    public List<Booking> bookings(List<Item> items, User booker) {
+        List<Booking> bookings = new ArrayList<>(items.size() * 2);
+        long id = 1;
+        for (Item item : items) {
+            Booking last = booking(id++, item, booker, NOW.minusDays(10), NOW.minusDays(8));
+            Booking next = booking(id++, item, booker, item.getId() % 2 == 0 ? NOW.minusHours(1) : NOW.plusDays(2),
+                    NOW.plusDays(4));
+            item.setLastBooking(last);
+            item.setNextBooking(next);
+            bookings.add(last);
+            bookings.add(next);
+        }
+        return bookings;
+    }
+
+    public List<Comment> comments(List<Item> items, int perItem) {
+        List<Comment> comments = new ArrayList<>(items.size() * perItem);
+        long id = 1;
+        for (Item item : items) {
+            for (int i = 0; i < perItem; i++) {
+                Comment comment = new Comment();
+                comment.setId(id);
+                comment.setText("Отличная вещь, всё работает, спасибо владельцу! Отзыв " + id);
+                comment.setItem(item);
+                comment.setAuthor(user(2000 + id));
+                comment.setCreated(NOW.minusDays(id));
+                comments.add(comment);
+                id++;
+            }
+        }
+        return comments;
+    }
+
+    private Booking booking(long id, Item item, User booker, LocalDateTime start, LocalDateTime end) {
+        Booking booking = new Booking();
+        booking.setId(id);
+        booking.setItem(item);
+        booking.setBooker(booker);
+        booking.setStartDate(start);
+        booking.setEndDate(end);
+        booking.setStatus(BookingStatus.APPROVED);
+        return booking;
+    }
+}
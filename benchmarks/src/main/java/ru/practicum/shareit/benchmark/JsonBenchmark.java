@@ -0,0 +1,69 @@
+package ru.practicum.shareit.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import ru.practicum.shareit.booking.dto.BookingMapper;
+import ru.practicum.shareit.item.comment.Comment;
+import ru.practicum.shareit.item.comment.CommentMapper;
+import ru.practicum.shareit.item.dto.ItemMapper;
+import ru.practicum.shareit.item.dto.ItemResponseDtoWithBookings;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.stream.Collectors.groupingBy;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonBenchmark {
+    @Param({"20", "100"})
+    private int size;
+
+    private ObjectWriter writer;
+    private List<ItemResponseDtoWithBookings> dtos;
+
+    @Setup
+    public void setUp() {
+        List<Item> items = EntityGraphs.ownerItems(EntityGraphs.user(1), size);
+        EntityGraphs.bookings(items, EntityGraphs.user(2));
+        Map<Item, List<Comment>> comments = EntityGraphs.comments(items, 3).stream()
+                .collect(groupingBy(Comment::getItem));
+        dtos = new ArrayList<>(items.size());
+        for (Item item : items) {
+            ItemResponseDtoWithBookings dto = ItemMapper.toItemResponseDtoWithBookings(item,
+                    CommentMapper.toCommentResponseDtoList(comments.get(item)));
+            dto.setLastBooking(BookingMapper.toBookingResponseDto(item.getLastBooking()));
+            dto.setNextBooking(BookingMapper.toBookingResponseDto(item.getNextBooking()));
+            dtos.add(dto);
+        }
+        ObjectMapper mapper = Jackson2ObjectMapperBuilder.json().build();
+        writer = mapper.writerFor(TypeFactory.defaultInstance()
+                .constructCollectionType(List.class, ItemResponseDtoWithBookings.class));
+    }
+
+    @Benchmark
+    public byte[] serializeOwnersItems() throws JsonProcessingException {
+        return writer.writeValueAsBytes(dtos);
+    }
+}
@@ -0,0 +1,85 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.booking.dto.BookingDtoWithItemAndUser;
+import ru.practicum.shareit.booking.dto.BookingMapper;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.comment.Comment;
+import ru.practicum.shareit.item.comment.CommentMapper;
+import ru.practicum.shareit.item.dto.ItemMapper;
+import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.item.dto.ItemResponseDtoWithBookings;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.stream.Collectors.groupingBy;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+    @Param({"20", "100"})
+    private int size;
+
+    private List<Item> items;
+    private List<Booking> bookings;
+    private Map<Item, List<Comment>> comments;
+
+    @Setup
+    public void setUp() {
+        User owner = EntityGraphs.user(1);
+        items = EntityGraphs.ownerItems(owner, size);
+        bookings = EntityGraphs.bookings(items, EntityGraphs.user(2));
+        comments = EntityGraphs.comments(items, 3).stream()
+                .collect(groupingBy(Comment::getItem));
+    }
+
+    @Benchmark
+    public List<BookingDtoWithItemAndUser> bookingDtoWithItemAndUser() {
+        List<BookingDtoWithItemAndUser> result = new ArrayList<>(bookings.size());
+        for (Booking booking : bookings) {
+            result.add(BookingMapper.toBookingDtoWithItemAndUser(booking));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<ItemResponseDto> itemResponseDto() {
+        List<ItemResponseDto> result = new ArrayList<>(items.size());
+        for (Item item : items) {
+            result.add(ItemMapper.toItemResponseDto(item));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<ItemResponseDtoWithBookings> itemResponseDtoWithBookings() {
+        List<ItemResponseDtoWithBookings> result = new ArrayList<>(items.size());
+        for (Item item : items) {
+            ItemResponseDtoWithBookings dto = ItemMapper.toItemResponseDtoWithBookings(item,
+                    CommentMapper.toCommentResponseDtoList(comments.get(item)));
+            dto.setLastBooking(BookingMapper.toBookingResponseDto(item.getLastBooking()));
+            dto.setNextBooking(BookingMapper.toBookingResponseDto(item.getNextBooking()));
+            result.add(dto);
+        }
+        return result;
+    }
+}
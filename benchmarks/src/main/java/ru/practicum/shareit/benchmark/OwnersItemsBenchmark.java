@@ -0,0 +1,90 @@
+package ru.practicum.shareit.benchmark;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingStorage;
+import ru.practicum.shareit.cache.EntityTags;
+import ru.practicum.shareit.cache.GuardCache;
+import ru.practicum.shareit.item.comment.Comment;
+import ru.practicum.shareit.item.comment.CommentStorage;
+import ru.practicum.shareit.item.dto.ItemResponseDtoWithBookings;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemStorage;
+import ru.practicum.shareit.item.service.impl.ItemServiceImpl;
+import ru.practicum.shareit.request.repository.ItemRequestStorage;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserStorage;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OwnersItemsBenchmark {
+    private static final long OWNER_ID = 1;
+
+    @Param({"20", "100"})
+    private int size;
+
+    private ItemServiceImpl itemService;
+
+    @Setup
+    public void setUp() {
+        User owner = EntityGraphs.user(OWNER_ID);
+        List<Item> items = EntityGraphs.ownerItems(owner, size);
+        List<Booking> bookings = EntityGraphs.bookings(items, EntityGraphs.user(2));
+        List<Comment> comments = EntityGraphs.comments(items, 3);
+
+        ItemStorage itemStorage = stub(ItemStorage.class, Map.of(
+                "findAllByOwnerId", args -> new SliceImpl<>(items, (Pageable) args[1], false)));
+        UserStorage userStorage = stub(UserStorage.class, Map.of("existsById", args -> true));
+        CommentStorage commentStorage = stub(CommentStorage.class, Map.of("findByItemIn", args -> comments));
+        BookingStorage bookingStorage = stub(BookingStorage.class, Map.of(
+                "findLastAndNextByItemIds", args -> bookings));
+        ItemRequestStorage itemRequestStorage = stub(ItemRequestStorage.class, Map.of());
+        GuardCache guardCache = new GuardCache(userStorage, itemStorage, new SimpleMeterRegistry(), 16);
+        EntityTags entityTags = new EntityTags(guardCache, userStorage, itemStorage, itemRequestStorage);
+        itemService = new ItemServiceImpl(itemStorage, userStorage, bookingStorage, commentStorage,
+                itemRequestStorage, null, guardCache, null, entityTags);
+    }
+
+    @Benchmark
+    public List<ItemResponseDtoWithBookings> findOwnersItems() {
+        return itemService.findOwnersItems(OWNER_ID, 0, size);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T stub(Class<T> type, Map<String, Function<Object[], Object>> answers) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            Function<Object[], Object> answer = answers.get(method.getName());
+            if (answer != null) {
+                return answer.apply(args);
+            }
+            if (method.getDeclaringClass() == Object.class) {
+                return method.getName().equals("hashCode") ? System.identityHashCode(proxy)
+                        : method.getName().equals("equals") ? proxy == args[0] : type.getSimpleName();
+            }
+            throw new UnsupportedOperationException(method.getName());
+        });
+    }
+}
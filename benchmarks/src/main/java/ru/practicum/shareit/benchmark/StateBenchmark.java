@@ -0,0 +1,40 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.exception.exceptions.BadRequestException;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StateBenchmark {
+    @Param({"ALL", "CURRENT", "REJECTED"})
+    private String state;
+
+    @Benchmark
+    public ru.practicum.shareit.booking.model.State stringToState() {
+        return ru.practicum.shareit.booking.model.State.stringToState(state);
+    }
+
+    @Benchmark
+    public Object unknownState() {
+        try {
+            return ru.practicum.shareit.booking.model.State.stringToState(state + "_UNKNOWN");
+        } catch (BadRequestException e) {
+            return e;
+        }
+    }
+}
@@ -2,4 +2,5 @@ package ru.practicum.shareit;
 
 public class Constant {
     public static final String USER_HEADER = "X-Sharer-User-Id";
+    public static final int BATCH_MAX_SIZE = 1000;
 }
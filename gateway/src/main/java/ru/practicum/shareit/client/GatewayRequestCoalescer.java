@@ -0,0 +1,69 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+@Slf4j
+@Component
+public class GatewayRequestCoalescer {
+    public static final String METRIC = "shareit.client.single-flight";
+
+    private final Map<String, Mono<ResponseEntity<byte[]>>> inFlight = new ConcurrentHashMap<>();
+    private final MeterRegistry registry;
+    private final Set<String> routes;
+    private final Set<String> sharedRoutes;
+
+    public GatewayRequestCoalescer(MeterRegistry registry,
+                                   @Value("${shareit-gateway.single-flight.routes:}") Set<String> routes,
+                                   @Value("${shareit-gateway.single-flight.shared-routes:}") Set<String> sharedRoutes) {
+        this.registry = registry;
+        this.routes = routes;
+        this.sharedRoutes = sharedRoutes;
+        Gauge.builder(METRIC + ".in-flight", inFlight, Map::size).register(registry);
+        log.info("Single-flight routes: {}, shared between users: {}", routes, sharedRoutes);
+    }
+
+    public Mono<ResponseEntity<byte[]>> execute(String route, String path, @Nullable Map<String, Object> parameters,
+                                                @Nullable Long userId,
+                                                Supplier<Mono<ResponseEntity<byte[]>>> call) {
+        if (!routes.contains(route)) {
+            return Mono.defer(call);
+        }
+        String key = key(route, path, parameters, sharedRoutes.contains(route) ? null : userId);
+        return Mono.defer(() -> {
+            boolean[] leader = new boolean[1];
+            Mono<ResponseEntity<byte[]>> shared = inFlight.computeIfAbsent(key, k -> {
+                leader[0] = true;
+                return call.get()
+                        .doFinally(signal -> inFlight.remove(k))
+                        .cache();
+            });
+            registry.counter(METRIC, "route", route, "result", leader[0] ? "executed" : "saved").increment();
+            return shared;
+        });
+    }
+
+    private static String key(String route, String path, @Nullable Map<String, Object> parameters,
+                              @Nullable Long userId) {
+        StringBuilder key = new StringBuilder(route).append(' ').append(path);
+        if (parameters != null) {
+            key.append(' ').append(new TreeMap<>(parameters));
+        }
+        if (userId != null) {
+            key.append('#').append(userId);
+        }
+        return key.toString();
+    }
+}
@@ -0,0 +1,108 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static ru.practicum.shareit.Constant.USER_HEADER;
+
+@Component
+public class GatewayResponseCache {
+    public static final String METRIC = "shareit.client.cache";
+
+    private static final ResponseEntity<byte[]> VARY_BY_USER = ResponseEntity.ok().build();
+
+    private final Map<String, ResponseEntity<byte[]>> entries;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter changes;
+
+    public GatewayResponseCache(MeterRegistry registry,
+                                @Value("${shareit-gateway.cache.max-entries:10000}") int maxEntries) {
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, ResponseEntity<byte[]>> eldest) {
+                return size() > maxEntries;
+            }
+        };
+        this.hits = Counter.builder(METRIC).tag("result", "not-modified").register(registry);
+        this.misses = Counter.builder(METRIC).tag("result", "miss").register(registry);
+        this.changes = Counter.builder(METRIC).tag("result", "modified").register(registry);
+        Gauge.builder(METRIC + ".size", this, GatewayResponseCache::size).register(registry);
+    }
+
+    @Nullable
+    public ResponseEntity<byte[]> get(String key, @Nullable Long userId) {
+        synchronized (entries) {
+            ResponseEntity<byte[]> cached = entries.get(key);
+            if (cached == VARY_BY_USER) {
+                cached = entries.get(userKey(key, userId));
+            }
+            if (cached == null) {
+                misses.increment();
+            }
+            return cached;
+        }
+    }
+
+    public ResponseEntity<byte[]> revalidated(String key, @Nullable Long userId, @Nullable ResponseEntity<byte[]> cached,
+                                              ResponseEntity<byte[]> response) {
+        if (cached != null && response.getStatusCode() == HttpStatus.NOT_MODIFIED) {
+            hits.increment();
+            HttpHeaders headers = new HttpHeaders();
+            headers.putAll(cached.getHeaders());
+            headers.putAll(response.getHeaders());
+            headers.remove(HttpHeaders.CONTENT_LENGTH);
+            return ResponseEntity.ok().headers(headers).body(cached.getBody());
+        }
+        if (cached != null) {
+            changes.increment();
+        }
+        if (response.getStatusCode() == HttpStatus.OK && response.getHeaders().getETag() != null) {
+            put(key, userId, response);
+        } else if (cached != null) {
+            evict(key);
+        }
+        return response;
+    }
+
+    public void evict(String key) {
+        String userKeyPrefix = userKey(key, null);
+        synchronized (entries) {
+            if (entries.remove(key) == VARY_BY_USER) {
+                entries.keySet().removeIf(entryKey -> entryKey.startsWith(userKeyPrefix));
+            }
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private void put(String key, @Nullable Long userId, ResponseEntity<byte[]> response) {
+        boolean varyByUser = response.getHeaders().getVary().stream().anyMatch(USER_HEADER::equalsIgnoreCase);
+        synchronized (entries) {
+            if (varyByUser) {
+                entries.put(key, VARY_BY_USER);
+                entries.put(userKey(key, userId), response);
+            } else {
+                entries.put(key, response);
+            }
+        }
+    }
+
+    private static String userKey(String key, @Nullable Long userId) {
+        return key + "#" + (userId == null ? "" : userId);
+    }
+}
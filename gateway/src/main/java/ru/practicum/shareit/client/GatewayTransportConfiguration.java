@@ -0,0 +1,67 @@
+package ru.practicum.shareit.client;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+
+@Configuration
+public class GatewayTransportConfiguration {
+    public static final String MODE_PROPERTY = "shareit-gateway.mode";
+
+    @Bean
+    @ConditionalOnProperty(name = MODE_PROPERTY, havingValue = "blocking", matchIfMissing = true)
+    public GatewayTransportFactory blockingTransportFactory(RestTemplateBuilder builder,
+                                                            HttpComponentsClientHttpRequestFactory gatewayRequestFactory) {
+        return baseUrl -> new RestTemplateTransport(builder
+                .uriTemplateHandler(new DefaultUriBuilderFactory(baseUrl))
+                .requestFactory(() -> gatewayRequestFactory)
+                .build());
+    }
+
+    @Bean(destroyMethod = "dispose")
+    @ConditionalOnProperty(name = MODE_PROPERTY, havingValue = "reactive")
+    public ConnectionProvider gatewayConnectionProvider(
+            @Value("${shareit-gateway.pool.max-total:200}") int maxConnections,
+            @Value("${shareit-gateway.pool.acquire-timeout:5s}") Duration acquireTimeout,
+            @Value("${shareit-gateway.pool.idle-timeout:30s}") Duration idleTimeout,
+            @Value("${shareit-gateway.pool.time-to-live:5m}") Duration timeToLive,
+            @Value("${shareit-gateway.reactive.pending-acquire-max-count:-1}") int pendingAcquireMaxCount) {
+        return ConnectionProvider.builder(HttpClientPoolConfiguration.POOL_NAME)
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(pendingAcquireMaxCount)
+                .pendingAcquireTimeout(acquireTimeout)
+                .maxIdleTime(idleTimeout)
+                .maxLifeTime(timeToLive)
+                .evictInBackground(idleTimeout)
+                .metrics(true)
+                .build();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = MODE_PROPERTY, havingValue = "reactive")
+    public GatewayTransportFactory reactiveTransportFactory(
+            WebClient.Builder builder,
+            ConnectionProvider gatewayConnectionProvider,
+            @Value("${shareit-gateway.pool.connect-timeout:2s}") Duration connectTimeout,
+            @Value("${shareit-gateway.pool.read-timeout:30s}") Duration readTimeout) {
+        ReactorClientHttpConnector connector = new ReactorClientHttpConnector(
+                HttpClient.create(gatewayConnectionProvider)
+                        .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+                        .responseTimeout(readTimeout));
+        return baseUrl -> new WebClientTransport(builder.clone()
+                .clientConnector(connector)
+                .uriBuilderFactory(new DefaultUriBuilderFactory(baseUrl))
+                .build());
+    }
+}
@@ -0,0 +1,84 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.PoolingHttpClientConnectionManagerMetricsBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClients;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static ru.practicum.shareit.client.GatewayTransportConfiguration.MODE_PROPERTY;
+
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = MODE_PROPERTY, havingValue = "blocking", matchIfMissing = true)
+public class HttpClientPoolConfiguration {
+    public static final String POOL_NAME = "shareit-server";
+
+    @Bean
+    public MeteredConnectionManager gatewayConnectionManager(
+            ObjectProvider<MeterRegistry> registry,
+            @Value("${shareit-gateway.pool.max-total:200}") int maxTotal,
+            @Value("${shareit-gateway.pool.max-per-route:200}") int maxPerRoute,
+            @Value("${shareit-gateway.pool.time-to-live:5m}") Duration timeToLive,
+            @Value("${shareit-gateway.pool.validate-after-inactivity:2s}") Duration validateAfterInactivity) {
+        MeteredConnectionManager connectionManager = new MeteredConnectionManager(timeToLive.toMillis(),
+                TimeUnit.MILLISECONDS, registry);
+        connectionManager.setMaxTotal(maxTotal);
+        connectionManager.setDefaultMaxPerRoute(maxPerRoute);
+        connectionManager.setValidateAfterInactivity((int) validateAfterInactivity.toMillis());
+        log.info("HTTP connection pool to server: max-total={}, max-per-route={}", maxTotal, maxPerRoute);
+        return connectionManager;
+    }
+
+    @Bean
+    public MeterBinder gatewayConnectionPoolMetrics(MeteredConnectionManager gatewayConnectionManager) {
+        return new PoolingHttpClientConnectionManagerMetricsBinder(gatewayConnectionManager, POOL_NAME);
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient gatewayHttpClient(
+            MeteredConnectionManager gatewayConnectionManager,
+            @Value("${shareit-gateway.pool.connect-timeout:2s}") Duration connectTimeout,
+            @Value("${shareit-gateway.pool.read-timeout:30s}") Duration readTimeout,
+            @Value("${shareit-gateway.pool.acquire-timeout:5s}") Duration acquireTimeout,
+            @Value("${shareit-gateway.pool.idle-timeout:30s}") Duration idleTimeout,
+            @Value("${shareit-gateway.pool.keep-alive:30s}") Duration keepAlive) {
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectTimeout((int) connectTimeout.toMillis())
+                .setSocketTimeout((int) readTimeout.toMillis())
+                .setConnectionRequestTimeout((int) acquireTimeout.toMillis())
+                .build();
+        return HttpClients.custom()
+                .setConnectionManager(gatewayConnectionManager)
+                .setDefaultRequestConfig(requestConfig)
+                .setKeepAliveStrategy(keepAliveStrategy(keepAlive.toMillis()))
+                .evictExpiredConnections()
+                .evictIdleConnections(idleTimeout.toMillis(), TimeUnit.MILLISECONDS)
+                .build();
+    }
+
+    @Bean
+    public HttpComponentsClientHttpRequestFactory gatewayRequestFactory(CloseableHttpClient gatewayHttpClient) {
+        return new HttpComponentsClientHttpRequestFactory(gatewayHttpClient);
+    }
+
+    private static ConnectionKeepAliveStrategy keepAliveStrategy(long defaultMillis) {
+        return (response, context) -> {
+            long millis = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+            return millis > 0 ? Math.min(millis, defaultMillis) : defaultMillis;
+        };
+    }
+}
@@ -0,0 +1,55 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.http.HttpClientConnection;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.apache.http.conn.ConnectionRequest;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+public class MeteredConnectionManager extends PoolingHttpClientConnectionManager {
+    public static final String ACQUIRE_METRIC = "shareit.client.connection.acquire";
+
+    private final ObjectProvider<MeterRegistry> registry;
+
+    public MeteredConnectionManager(long timeToLive, TimeUnit unit, ObjectProvider<MeterRegistry> registry) {
+        super(timeToLive, unit);
+        this.registry = registry;
+    }
+
+    @Override
+    public ConnectionRequest requestConnection(HttpRoute route, Object state) {
+        ConnectionRequest request = super.requestConnection(route, state);
+        return new ConnectionRequest() {
+            @Override
+            public HttpClientConnection get(long timeout, TimeUnit unit)
+                    throws InterruptedException, ExecutionException, ConnectionPoolTimeoutException {
+                MeterRegistry meterRegistry = registry.getObject();
+                Timer.Sample sample = Timer.start(meterRegistry);
+                String outcome = "acquired";
+                try {
+                    return request.get(timeout, unit);
+                } catch (ConnectionPoolTimeoutException e) {
+                    outcome = "timeout";
+                    throw e;
+                } catch (InterruptedException | ExecutionException e) {
+                    outcome = "error";
+                    throw e;
+                } finally {
+                    sample.stop(meterRegistry.timer(ACQUIRE_METRIC, "route", route.getTargetHost().toHostString(),
+                            "outcome", outcome));
+                }
+            }
+
+            @Override
+            public boolean cancel() {
+                return request.cancel();
+            }
+        };
+    }
+}
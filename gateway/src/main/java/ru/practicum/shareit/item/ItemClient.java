@@ -2,65 +2,91 @@ package ru.practicum.shareit.item;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.GatewayRequestCoalescer;
+import ru.practicum.shareit.client.GatewayResponseCache;
+import ru.practicum.shareit.client.GatewayTransportFactory;
 import ru.practicum.shareit.item.dto.CommentRequestDto;
 import ru.practicum.shareit.item.dto.ItemRequestDto;
 
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @Service
 public class ItemClient extends BaseClient {
     private static final String API_PREFIX = "/items";
+    private static final String GET_ROUTE = "items.get";
+    private static final String SEARCH_ROUTE = "items.search";
 
     @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    public ItemClient(@Value("${shareit-server.url}") String serverUrl, GatewayTransportFactory transports,
+                      GatewayResponseCache cache, GatewayRequestCoalescer coalescer) {
+        super(transports.create(serverUrl + API_PREFIX), cache, coalescer, API_PREFIX);
     }
 
-    public ResponseEntity<Object> addItem(long userId, ItemRequestDto itemRequestDto) {
+    public Mono<ResponseEntity<Object>> addItem(long userId, ItemRequestDto itemRequestDto) {
         return post("", userId, itemRequestDto);
     }
 
-    public ResponseEntity<Object> commentItem(long userId, Long itemId, CommentRequestDto commentRequestDto) {
+    public Mono<ResponseEntity<Object>> addItems(long userId, List<ItemRequestDto> itemRequestDtos) {
+        return post("/batch", userId, itemRequestDtos);
+    }
+
+    public Mono<ResponseEntity<Object>> commentItem(long userId, Long itemId, CommentRequestDto commentRequestDto) {
         return post(String.format("/%d/comment", itemId), userId, commentRequestDto);
     }
 
-    public ResponseEntity<Object> updateItem(long userId, Long itemId, ItemRequestDto itemRequestDto) {
-        return patch(String.format("/%d", itemId), userId, itemRequestDto);
+    public Mono<ResponseEntity<Object>> updateItem(long userId, Long itemId, ItemRequestDto itemRequestDto) {
+        String path = String.format("/%d", itemId);
+        return patch(path, userId, itemRequestDto).doOnNext(response -> evictCached(path));
     }
 
-    public ResponseEntity<Object> getItem(long userId, Long itemId) {
-        return get(String.format("/%d", itemId), userId);
+    public Mono<ResponseEntity<Object>> getItem(long userId, Long itemId) {
+        return getCached(GET_ROUTE, String.format("/%d", itemId), userId);
     }
 
-    public ResponseEntity<Object> getOwnerItems(long userId, int from, int size) {
+    public Mono<ResponseEntity<Object>> getAvailability(long userId, Long itemId, LocalDateTime from, LocalDateTime to) {
         Map<String, Object> parameters = Map.of(
+                "from", from.toString(),
+                "to", to.toString()
+        );
+        return get(String.format("/%d/availability?from={from}&to={to}", itemId), userId, parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> getOwnerItems(long userId, int from, int size, String after) {
+        Map<String, Object> parameters = new HashMap<>(Map.of(
                 "from", from,
                 "size", size
-        );
-        return get("?from={from}&size={size}", userId, parameters);
+        ));
+        return get(withCursor("?from={from}&size={size}", parameters, after), userId, parameters);
     }
 
-    public ResponseEntity<Object> search(long userId, String text, int from, int size) {
-        Map<String, Object> parameters = Map.of(
+    public Mono<ResponseEntity<Object>> search(long userId, String text, LocalDateTime start, LocalDateTime end,
+                                               int from, int size, String after) {
+        Map<String, Object> parameters = new HashMap<>(Map.of(
                 "text", text,
                 "from", from,
                 "size", size
-        );
-        return get("/search?text={text}&from={from}&size={size}", userId, parameters);
+        ));
+        String path = "/search?text={text}&from={from}&size={size}";
+        if (start != null) {
+            parameters.put("start", start.toString());
+            path += "&start={start}";
+        }
+        if (end != null) {
+            parameters.put("end", end.toString());
+            path += "&end={end}";
+        }
+        return getShared(SEARCH_ROUTE, withCursor(path, parameters, after), userId, parameters);
     }
 
-    public ResponseEntity<Object> deleteItem(long userId, Long itemId) {
-        return delete(String.format("/%d", itemId), userId);
+    public Mono<ResponseEntity<Object>> deleteItem(long userId, Long itemId) {
+        String path = String.format("/%d", itemId);
+        return delete(path, userId).doOnNext(response -> evictCached(path));
     }
 }
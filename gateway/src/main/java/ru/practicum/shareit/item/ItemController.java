@@ -2,17 +2,25 @@ package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.item.dto.CommentRequestDto;
 import ru.practicum.shareit.item.dto.ItemRequestDto;
 
 import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import javax.validation.constraints.Size;
+import java.time.LocalDateTime;
+import java.util.List;
 
+import static org.springframework.format.annotation.DateTimeFormat.ISO.DATE_TIME;
+import static ru.practicum.shareit.Constant.BATCH_MAX_SIZE;
 import static ru.practicum.shareit.Constant.USER_HEADER;
 
 @Controller
@@ -24,55 +32,79 @@ public class ItemController {
     private final ItemClient itemClient;
 
     @PostMapping
-    public ResponseEntity<Object> addItem(@RequestHeader(USER_HEADER) @Positive Long userId,
-                                          @RequestBody @Valid ItemRequestDto itemRequestDto) {
+    public Mono<ResponseEntity<Object>> addItem(@RequestHeader(USER_HEADER) @Positive Long userId,
+                                                @RequestBody @Valid ItemRequestDto itemRequestDto) {
         log.info("ITEM_GATEWAY: add item {} from user userId={}", itemRequestDto, userId);
         return itemClient.addItem(userId, itemRequestDto);
     }
 
+    @PostMapping("/batch")
+    public Mono<ResponseEntity<Object>> addItems(@RequestHeader(USER_HEADER) @Positive Long userId,
+                                                 @RequestBody @NotEmpty(message = "Список вещей не может быть пустым")
+                                                 @Size(max = BATCH_MAX_SIZE, message = "Слишком много вещей в одном запросе")
+                                                 List<@Valid ItemRequestDto> itemRequestDtos) {
+        log.info("ITEM_GATEWAY: add {} items from user userId={}", itemRequestDtos.size(), userId);
+        return itemClient.addItems(userId, itemRequestDtos);
+    }
+
     @PostMapping("/{itemId}/comment")
-    public ResponseEntity<Object> commentItem(@RequestHeader(USER_HEADER) @Positive Long userId,
-                                              @PathVariable @Positive Long itemId,
-                                              @RequestBody @Valid CommentRequestDto commentRequestDto) {
+    public Mono<ResponseEntity<Object>> commentItem(@RequestHeader(USER_HEADER) @Positive Long userId,
+                                                    @PathVariable @Positive Long itemId,
+                                                    @RequestBody @Valid CommentRequestDto commentRequestDto) {
         log.info("ITEM_GATEWAY: add comment {} to item itemId={} from user userId={}", commentRequestDto, itemId, userId);
         return itemClient.commentItem(userId, itemId, commentRequestDto);
     }
 
     @PatchMapping("/{itemId}")
-    public ResponseEntity<Object> updateItem(@RequestHeader(USER_HEADER) @Positive Long userId,
-                                             @PathVariable @Positive Long itemId,
-                                             @RequestBody ItemRequestDto itemRequestDto) {
+    public Mono<ResponseEntity<Object>> updateItem(@RequestHeader(USER_HEADER) @Positive Long userId,
+                                                   @PathVariable @Positive Long itemId,
+                                                   @RequestBody ItemRequestDto itemRequestDto) {
         log.info("ITEM_GATEWAY: update item itemId={} from user userId={} by dto {}", itemId, userId, itemRequestDto);
         return itemClient.updateItem(userId, itemId, itemRequestDto);
     }
 
     @GetMapping("/{itemId}")
-    public ResponseEntity<Object> getItem(@RequestHeader(USER_HEADER) @Positive Long userId,
-                                          @PathVariable @Positive Long itemId) {
+    public Mono<ResponseEntity<Object>> getItem(@RequestHeader(USER_HEADER) @Positive Long userId,
+                                                @PathVariable @Positive Long itemId) {
         log.info("ITEM_GATEWAY: get item itemId={} request from user userId={}", itemId, userId);
         return itemClient.getItem(userId, itemId);
     }
 
+    @GetMapping("/{itemId}/availability")
+    public Mono<ResponseEntity<Object>> getAvailability(@RequestHeader(USER_HEADER) @Positive Long userId,
+                                                        @PathVariable @Positive Long itemId,
+                                                        @RequestParam @DateTimeFormat(iso = DATE_TIME) LocalDateTime from,
+                                                        @RequestParam @DateTimeFormat(iso = DATE_TIME) LocalDateTime to) {
+        log.info("ITEM_GATEWAY: get availability of item itemId={} from={} to={} request from user userId={}",
+                itemId, from, to, userId);
+        return itemClient.getAvailability(userId, itemId, from, to);
+    }
+
     @GetMapping
-    public ResponseEntity<Object> getOwnerItems(@RequestHeader(USER_HEADER) @Positive Long userId,
-                                                @RequestParam(defaultValue = "0") @PositiveOrZero int from,
-                                                @RequestParam(defaultValue = "10") @PositiveOrZero int size) {
-        log.info("ITEM_GATEWAY: find owner ownerId={} items, page from={} size={}", userId, from, size);
-        return itemClient.getOwnerItems(userId, from, size);
+    public Mono<ResponseEntity<Object>> getOwnerItems(@RequestHeader(USER_HEADER) @Positive Long userId,
+                                                      @RequestParam(defaultValue = "0") @PositiveOrZero int from,
+                                                      @RequestParam(defaultValue = "10") @PositiveOrZero int size,
+                                                      @RequestParam(required = false) String after) {
+        log.info("ITEM_GATEWAY: find owner ownerId={} items, page from={} size={} after={}", userId, from, size, after);
+        return itemClient.getOwnerItems(userId, from, size, after);
     }
 
     @GetMapping("/search")
-    public ResponseEntity<Object> search(@RequestHeader(USER_HEADER) @Positive Long userId,
-                                         @RequestParam String text,
-                                         @RequestParam(defaultValue = "0") @PositiveOrZero int from,
-                                         @RequestParam(defaultValue = "10") @PositiveOrZero int size) {
-        log.info("ITEM_GATEWAY: search items by string {}, page from={} size={}", text, from, size);
-        return itemClient.search(userId, text, from, size);
+    public Mono<ResponseEntity<Object>> search(@RequestHeader(USER_HEADER) @Positive Long userId,
+                                               @RequestParam String text,
+                                               @RequestParam(required = false) @DateTimeFormat(iso = DATE_TIME) LocalDateTime start,
+                                               @RequestParam(required = false) @DateTimeFormat(iso = DATE_TIME) LocalDateTime end,
+                                               @RequestParam(defaultValue = "0") @PositiveOrZero int from,
+                                               @RequestParam(defaultValue = "10") @PositiveOrZero int size,
+                                               @RequestParam(required = false) String after) {
+        log.info("ITEM_GATEWAY: search items by string {} free from {} to {}, page from={} size={} after={}",
+                text, start, end, from, size, after);
+        return itemClient.search(userId, text, start, end, from, size, after);
     }
 
     @DeleteMapping("/{itemId}")
-    public ResponseEntity<Object> deleteItem(@RequestHeader(USER_HEADER) @Positive Long userId,
-                                             @PathVariable @Positive Long itemId) {
+    public Mono<ResponseEntity<Object>> deleteItem(@RequestHeader(USER_HEADER) @Positive Long userId,
+                                                   @PathVariable @Positive Long itemId) {
         log.info("ITEM_GATEWAY: delete item itemId={} request from user userId={}", itemId, userId);
         return itemClient.deleteItem(userId, itemId);
     }
@@ -0,0 +1,88 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.http.Outcome;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.booking.dto.BookingState;
+
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class ClientMetricsAspect {
+    public static final String METRIC = "shareit.client";
+    public static final String NONE = "none";
+
+    private final MeterRegistry registry;
+
+    @Around("execution(public * ru.practicum.shareit..*Client.*(..))")
+    public Object time(ProceedingJoinPoint point) throws Throwable {
+        MethodSignature signature = (MethodSignature) point.getSignature();
+        Tags tags = Tags.of(
+                "class", signature.getDeclaringType().getSimpleName(),
+                "method", signature.getName(),
+                "endpoint", endpoint(),
+                "state", state(point.getArgs()));
+        Timer.Sample sample = Timer.start(registry);
+        Object result;
+        try {
+            result = point.proceed();
+        } catch (Throwable e) {
+            stop(sample, tags, Outcome.UNKNOWN.name(), e);
+            throw e;
+        }
+        if (result instanceof Mono) {
+            return ((Mono<?>) result)
+                    .doOnSuccess(value -> stop(sample, tags, outcome(value), null))
+                    .doOnError(e -> stop(sample, tags, Outcome.UNKNOWN.name(), e));
+        }
+        stop(sample, tags, outcome(result), null);
+        return result;
+    }
+
+    private void stop(Timer.Sample sample, Tags tags, String outcome, Throwable e) {
+        sample.stop(registry.timer(METRIC, tags.and("outcome", outcome,
+                "exception", e == null ? NONE : e.getClass().getSimpleName())));
+    }
+
+    private static String outcome(Object result) {
+        return result instanceof ResponseEntity
+                ? Outcome.forStatus(((ResponseEntity<?>) result).getStatusCodeValue()).name()
+                : Outcome.SUCCESS.name();
+    }
+
+    private static String endpoint() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return NONE;
+        }
+        Object handler = attributes.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE,
+                RequestAttributes.SCOPE_REQUEST);
+        if (!(handler instanceof HandlerMethod)) {
+            return NONE;
+        }
+        HandlerMethod method = (HandlerMethod) handler;
+        return method.getBeanType().getSimpleName() + "." + method.getMethod().getName();
+    }
+
+    private static String state(Object[] args) {
+        for (Object arg : args) {
+            if (arg instanceof BookingState) {
+                return ((BookingState) arg).name();
+            }
+        }
+        return NONE;
+    }
+}
@@ -2,47 +2,46 @@ package ru.practicum.shareit.request;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.GatewayRequestCoalescer;
+import ru.practicum.shareit.client.GatewayResponseCache;
+import ru.practicum.shareit.client.GatewayTransportFactory;
 import ru.practicum.shareit.request.dto.ItemRequestRequestDto;
 
+import java.util.HashMap;
 import java.util.Map;
 
 @Service
 public class ItemRequestClient extends BaseClient {
     private static final String API_PREFIX = "/requests";
+    private static final String GET_ROUTE = "requests.get";
 
     @Autowired
-    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, GatewayTransportFactory transports,
+                             GatewayResponseCache cache, GatewayRequestCoalescer coalescer) {
+        super(transports.create(serverUrl + API_PREFIX), cache, coalescer, API_PREFIX);
     }
 
-    public ResponseEntity<Object> addItemRequest(long userId, ItemRequestRequestDto itemRequestRequestDto) {
+    public Mono<ResponseEntity<Object>> addItemRequest(long userId, ItemRequestRequestDto itemRequestRequestDto) {
         return post("", userId, itemRequestRequestDto);
     }
 
-    public ResponseEntity<Object> getRequestsByAuthor(long userId) {
+    public Mono<ResponseEntity<Object>> getRequestsByAuthor(long userId) {
         return get("", userId);
     }
 
-    public ResponseEntity<Object> getItemRequests(long userId, int from, int size) {
-        Map<String, Object> parameters = Map.of(
+    public Mono<ResponseEntity<Object>> getItemRequests(long userId, int from, int size, String after) {
+        Map<String, Object> parameters = new HashMap<>(Map.of(
                 "from", from,
                 "size", size
-        );
-        return get("/all?from={from}&size={size}", userId, parameters);
+        ));
+        return get(withCursor("/all?from={from}&size={size}", parameters, after), userId, parameters);
     }
 
-    public ResponseEntity<Object> getItemRequest(long userId, Long requestId) {
-        return get(String.format("/%d", requestId), userId);
+    public Mono<ResponseEntity<Object>> getItemRequest(long userId, Long requestId) {
+        return getCached(GET_ROUTE, String.format("/%d", requestId), userId);
     }
 }
\ No newline at end of file
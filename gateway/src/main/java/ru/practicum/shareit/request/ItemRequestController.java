@@ -6,6 +6,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.request.dto.ItemRequestRequestDto;
 
 import javax.validation.Valid;
@@ -23,29 +24,31 @@ public class ItemRequestController {
     private final ItemRequestClient itemRequestClient;
 
     @PostMapping
-    public ResponseEntity<Object> addItemRequest(@RequestHeader(USER_HEADER) @Positive Long userId,
-                                                 @RequestBody @Valid ItemRequestRequestDto itemRequestRequestDto) {
+    public Mono<ResponseEntity<Object>> addItemRequest(@RequestHeader(USER_HEADER) @Positive Long userId,
+                                                       @RequestBody @Valid ItemRequestRequestDto itemRequestRequestDto) {
         log.info("ITEM_REQUEST_GATEWAY: add itemRequest {} from user userId={}", itemRequestRequestDto, userId);
         return itemRequestClient.addItemRequest(userId, itemRequestRequestDto);
     }
 
     @GetMapping
-    public ResponseEntity<Object> getRequestsByAuthor(@RequestHeader(USER_HEADER) @Positive Long userId) {
+    public Mono<ResponseEntity<Object>> getRequestsByAuthor(@RequestHeader(USER_HEADER) @Positive Long userId) {
         log.info("ITEM_REQUEST_GATEWAY: get requests by authorId={}", userId);
         return itemRequestClient.getRequestsByAuthor(userId);
     }
 
     @GetMapping("/all")
-    public ResponseEntity<Object> getItemRequests(@RequestHeader(USER_HEADER) @Positive Long userId,
-                                                  @RequestParam(defaultValue = "0") @PositiveOrZero int from,
-                                                  @RequestParam(defaultValue = "10") @Positive int size) {
-        log.info("ITEM_REQUEST_GATEWAY: get all requests from user userId={}, page from={}, size={}", userId, from, size);
-        return itemRequestClient.getItemRequests(userId, from, size);
+    public Mono<ResponseEntity<Object>> getItemRequests(@RequestHeader(USER_HEADER) @Positive Long userId,
+                                                        @RequestParam(defaultValue = "0") @PositiveOrZero int from,
+                                                        @RequestParam(defaultValue = "10") @Positive int size,
+                                                        @RequestParam(required = false) String after) {
+        log.info("ITEM_REQUEST_GATEWAY: get all requests from user userId={}, page from={}, size={}, after={}",
+                userId, from, size, after);
+        return itemRequestClient.getItemRequests(userId, from, size, after);
     }
 
     @GetMapping("/{requestId}")
-    public ResponseEntity<Object> getItemRequest(@RequestHeader(USER_HEADER) @Positive Long userId,
-                                                 @PathVariable @Positive Long requestId) {
+    public Mono<ResponseEntity<Object>> getItemRequest(@RequestHeader(USER_HEADER) @Positive Long userId,
+                                                       @PathVariable @Positive Long requestId) {
         log.info("ITEM_REQUEST_GATEWAY: get itemRequest by id={} from user userId={}", requestId, userId);
         return itemRequestClient.getItemRequest(userId, requestId);
     }
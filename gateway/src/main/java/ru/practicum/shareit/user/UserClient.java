@@ -2,46 +2,50 @@ package ru.practicum.shareit.user;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.GatewayRequestCoalescer;
+import ru.practicum.shareit.client.GatewayResponseCache;
+import ru.practicum.shareit.client.GatewayTransportFactory;
 import ru.practicum.shareit.user.dto.UserCreationDto;
 import ru.practicum.shareit.user.dto.UserRequestDto;
 
+import java.util.List;
+
 @Service
 public class UserClient extends BaseClient {
     private static final String API_PREFIX = "/users";
+    private static final String GET_ROUTE = "users.get";
 
     @Autowired
-    public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    public UserClient(@Value("${shareit-server.url}") String serverUrl, GatewayTransportFactory transports,
+                      GatewayResponseCache cache, GatewayRequestCoalescer coalescer) {
+        super(transports.create(serverUrl + API_PREFIX), cache, coalescer, API_PREFIX);
     }
 
-    public ResponseEntity<Object> getUsers() {
+    public Mono<ResponseEntity<Object>> getUsers() {
         return get("");
     }
 
-    public ResponseEntity<Object> getUser(long userId) {
-        return get("/" + userId);
+    public Mono<ResponseEntity<Object>> getUser(long userId) {
+        return getCached(GET_ROUTE, "/" + userId, null);
     }
 
-    public ResponseEntity<Object> addUser(UserCreationDto userCreationDto) {
+    public Mono<ResponseEntity<Object>> addUser(UserCreationDto userCreationDto) {
         return post("", userCreationDto);
     }
 
-    public ResponseEntity<Object> updateUser(UserRequestDto userRequestDto, long userId) {
-        return patch("/" + userId, userRequestDto);
+    public Mono<ResponseEntity<Object>> addUsers(List<UserCreationDto> userCreationDtos) {
+        return post("/batch", userCreationDtos);
+    }
+
+    public Mono<ResponseEntity<Object>> updateUser(UserRequestDto userRequestDto, long userId) {
+        return patch("/" + userId, userRequestDto).doOnNext(response -> evictCached("/" + userId));
     }
 
-    public ResponseEntity<Object> deleteUser(long userId) {
-        return delete("/" + userId);
+    public Mono<ResponseEntity<Object>> deleteUser(long userId) {
+        return delete("/" + userId).doOnNext(response -> evictCached("/" + userId));
     }
 }
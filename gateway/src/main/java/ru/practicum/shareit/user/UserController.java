@@ -6,11 +6,17 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.user.dto.UserCreationDto;
 import ru.practicum.shareit.user.dto.UserRequestDto;
 
 import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
 import javax.validation.constraints.Positive;
+import javax.validation.constraints.Size;
+import java.util.List;
+
+import static ru.practicum.shareit.Constant.BATCH_MAX_SIZE;
 
 @Controller
 @RequestMapping(path = "/users")
@@ -21,32 +27,40 @@ public class UserController {
     private final UserClient userClient;
 
     @GetMapping
-    public ResponseEntity<Object> getUsers() {
+    public Mono<ResponseEntity<Object>> getUsers() {
         log.info("USER_GATEWAY: Get all users");
         return userClient.getUsers();
     }
 
     @GetMapping("/{userId}")
-    public ResponseEntity<Object> getUser(@PathVariable @Positive Long userId) {
+    public Mono<ResponseEntity<Object>> getUser(@PathVariable @Positive Long userId) {
         log.info("USER_GATEWAY: Get user by userId={}", userId);
         return userClient.getUser(userId);
     }
 
     @PostMapping
-    public ResponseEntity<Object> addUser(@RequestBody @Valid UserCreationDto userCreationDto) {
+    public Mono<ResponseEntity<Object>> addUser(@RequestBody @Valid UserCreationDto userCreationDto) {
         log.info("USER_GATEWAY: Create new user {}", userCreationDto);
         return userClient.addUser(userCreationDto);
     }
 
+    @PostMapping("/batch")
+    public Mono<ResponseEntity<Object>> addUsers(@RequestBody @NotEmpty(message = "Список пользователей не может быть пустым")
+                                                 @Size(max = BATCH_MAX_SIZE, message = "Слишком много пользователей в одном запросе")
+                                                 List<@Valid UserCreationDto> userCreationDtos) {
+        log.info("USER_GATEWAY: Create {} new users", userCreationDtos.size());
+        return userClient.addUsers(userCreationDtos);
+    }
+
     @PatchMapping("/{userId}")
-    public ResponseEntity<Object> updateUser(@RequestBody @Valid UserRequestDto userRequestDto,
-                                             @PathVariable @Positive Long userId) {
+    public Mono<ResponseEntity<Object>> updateUser(@RequestBody @Valid UserRequestDto userRequestDto,
+                                                   @PathVariable @Positive Long userId) {
         log.info("USER_GATEWAY: Update user userId={} by data {}", userId, userRequestDto);
         return userClient.updateUser(userRequestDto, userId);
     }
 
     @DeleteMapping("/{userId}")
-    public ResponseEntity<Object> deleteUser(@PathVariable @Positive Long userId) {
+    public Mono<ResponseEntity<Object>> deleteUser(@PathVariable @Positive Long userId) {
         log.info("USER_GATEWAY: delete user userId={}", userId);
         return userClient.deleteUser(userId);
     }
@@ -0,0 +1,119 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ru.practicum.shareit.Constant.USER_HEADER;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class BaseClientTest {
+    private static final AtomicReference<ResponseEntity<byte[]>> SERVER_RESPONSE = new AtomicReference<>();
+
+    @Autowired
+    private MockMvc mvc;
+
+    @TestConfiguration
+    static class StubTransportConfiguration {
+        @Bean
+        @Primary
+        GatewayTransportFactory stubTransportFactory() {
+            return baseUrl -> new GatewayTransport() {
+                @Override
+                public <T> Mono<ResponseEntity<byte[]>> exchange(HttpMethod method, String path, HttpHeaders headers,
+                                                                 Map<String, Object> parameters, T body) {
+                    return Mono.fromSupplier(SERVER_RESPONSE::get);
+                }
+            };
+        }
+    }
+
+    @Test
+    void testServerResponseIsForwardedWithoutHopByHopAndInternalHeaders() throws Exception {
+        byte[] body = "[{\"id\":1,\"name\":\"Дрель\"}]".getBytes(StandardCharsets.UTF_8);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.set("X-Next-Cursor", "MQ");
+        headers.set("X-Total-Count", "42");
+        headers.set(HttpHeaders.CONTENT_LENGTH, "999");
+        headers.set(HttpHeaders.CONNECTION, "keep-alive");
+        headers.set("Keep-Alive", "timeout=60");
+        headers.set(HttpHeaders.TRANSFER_ENCODING, "chunked");
+        headers.set("X-SQL-Count", "3");
+        headers.set("Server-Timing", "db;dur=1.250;desc=\"3 statements, 1 rows\"");
+        SERVER_RESPONSE.set(new ResponseEntity<>(body, headers, HttpStatus.OK));
+
+        MvcResult result = mvc.perform(get("/items/search").param("text", "дрель").header(USER_HEADER, 1))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(header().string("X-Next-Cursor", "MQ"))
+                .andExpect(header().string("X-Total-Count", "42"))
+                .andExpect(header().doesNotExist(HttpHeaders.CONNECTION))
+                .andExpect(header().doesNotExist("Keep-Alive"))
+                .andExpect(header().doesNotExist(HttpHeaders.TRANSFER_ENCODING))
+                .andExpect(header().doesNotExist("X-SQL-Count"))
+                .andExpect(header().doesNotExist("Server-Timing"))
+                .andExpect(header().string(HttpHeaders.CONTENT_LENGTH, String.valueOf(body.length)))
+                .andExpect(content().bytes(body));
+    }
+
+    @Test
+    void testServerErrorBodyIsForwardedUnchanged() throws Exception {
+        byte[] body = "{\"error\":\"Не удалось найти вещь с id 7\"}".getBytes(StandardCharsets.UTF_8);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        SERVER_RESPONSE.set(new ResponseEntity<>(body, headers, HttpStatus.NOT_FOUND));
+
+        MvcResult result = mvc.perform(get("/items/7/availability")
+                        .param("from", "2030-01-01T00:00:00")
+                        .param("to", "2030-01-02T00:00:00")
+                        .header(USER_HEADER, 1))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isNotFound())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().bytes(body));
+    }
+
+    @Test
+    void testEmptyServerResponseHasNoBody() throws Exception {
+        SERVER_RESPONSE.set(ResponseEntity.ok().build());
+
+        MvcResult result = mvc.perform(get("/items/search").param("text", "дрель").header(USER_HEADER, 1))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().bytes(new byte[0]));
+    }
+}
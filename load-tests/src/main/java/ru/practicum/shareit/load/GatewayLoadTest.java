@@ -0,0 +1,190 @@
+package ru.practicum.shareit.load;
+
+import com.sun.net.httpserver.HttpServer;
+import org.springframework.boot.Banner;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.shareit.ShareItGateway;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static ru.practicum.shareit.Constant.USER_HEADER;
+
+public class GatewayLoadTest {
+    private static final byte[] ITEM = ("{\"id\":1,\"name\":\"Дрель\",\"description\":\"Аккумуляторная дрель\"," +
+            "\"available\":true,\"lastBooking\":null,\"nextBooking\":null,\"comments\":[]}")
+            .getBytes(StandardCharsets.UTF_8);
+
+    private final int concurrency;
+    private final int requests;
+    private final int delayMs;
+    private final int tomcatThreads;
+    private final AtomicInteger upstreamInFlight = new AtomicInteger();
+    private final AtomicInteger upstreamMaxInFlight = new AtomicInteger();
+
+    GatewayLoadTest(int concurrency, int requests, int delayMs, int tomcatThreads) {
+        this.concurrency = concurrency;
+        this.requests = requests;
+        this.delayMs = delayMs;
+        this.tomcatThreads = tomcatThreads;
+    }
+
+    public static void main(String[] args) throws Exception {
+        GatewayLoadTest test = new GatewayLoadTest(
+                intArg(args, 0, 800),
+                intArg(args, 1, 8000),
+                intArg(args, 2, 100),
+                intArg(args, 3, 200));
+        test.run();
+    }
+
+    void run() throws Exception {
+        ExecutorService upstreamExecutor = Executors.newCachedThreadPool();
+        HttpServer upstream = startUpstream(upstreamExecutor);
+        try {
+            System.out.printf("concurrency=%d requests=%d upstream-delay=%dms tomcat-threads=%d%n",
+                    concurrency, requests, delayMs, tomcatThreads);
+            System.out.printf("%-22s %10s %8s %9s %9s %9s %14s%n",
+                    "mode", "req/s", "errors", "p50,ms", "p99,ms", "max,ms", "max-in-flight");
+            for (String mode : List.of("blocking", "reactive")) {
+                print(mode, runMode(mode, "", upstream.getAddress().getPort()));
+            }
+            print("reactive+single-flight", runMode("reactive", "items.get", upstream.getAddress().getPort()));
+        } finally {
+            upstream.stop(0);
+            upstreamExecutor.shutdownNow();
+        }
+    }
+
+    private static void print(String name, Result result) {
+        System.out.printf("%-22s %10.0f %8d %9.1f %9.1f %9.1f %14d%n", name, result.throughput,
+                result.errors, result.p50, result.p99, result.max, result.maxInFlight);
+    }
+
+    private Result runMode(String mode, String singleFlightRoutes, int upstreamPort) throws Exception {
+        try (ConfigurableApplicationContext gateway = new SpringApplicationBuilder(ShareItGateway.class)
+                .bannerMode(Banner.Mode.OFF)
+                .run("--server.port=0",
+                        "--server.tomcat.threads.max=" + tomcatThreads,
+                        "--server.tomcat.max-connections=" + (concurrency * 2),
+                        "--server.tomcat.accept-count=" + concurrency,
+                        "--shareit-server.url=http://localhost:" + upstreamPort,
+                        "--shareit-gateway.mode=" + mode,
+                        "--shareit-gateway.single-flight.routes=" + singleFlightRoutes,
+                        "--shareit-gateway.pool.max-total=" + concurrency,
+                        "--shareit-gateway.pool.max-per-route=" + concurrency,
+                        "--logging.level.root=WARN",
+                        "--logging.level.org.springframework.web.client.RestTemplate=WARN")) {
+            URI uri = URI.create("http://localhost:" + gateway.getEnvironment().getProperty("local.server.port")
+                    + "/items/1");
+            ExecutorService clientExecutor = Executors.newFixedThreadPool(16);
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .executor(clientExecutor)
+                    .build();
+            try {
+                fire(client, uri, Math.min(requests, concurrency * 2));
+                upstreamMaxInFlight.set(0);
+                return fire(client, uri, requests);
+            } finally {
+                clientExecutor.shutdownNow();
+            }
+        }
+    }
+
+    private Result fire(HttpClient client, URI uri, int count) throws InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .header(USER_HEADER, "1")
+                .timeout(Duration.ofSeconds(60))
+                .GET()
+                .build();
+        Semaphore permits = new Semaphore(concurrency);
+        long[] latencies = new long[count];
+        AtomicInteger errors = new AtomicInteger();
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[count];
+        long started = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            permits.acquire();
+            int index = i;
+            long sent = System.nanoTime();
+            futures[i] = client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, e) -> {
+                        latencies[index] = System.nanoTime() - sent;
+                        if (e != null || response.statusCode() != 200) {
+                            errors.incrementAndGet();
+                        }
+                        permits.release();
+                    });
+        }
+        CompletableFuture.allOf(futures).exceptionally(e -> null).join();
+        double seconds = (System.nanoTime() - started) / 1e9;
+        Arrays.sort(latencies);
+        return new Result(count / seconds, errors.get(), millis(latencies, 0.5), millis(latencies, 0.99),
+                latencies[count - 1] / 1e6, upstreamMaxInFlight.get());
+    }
+
+    private HttpServer startUpstream(ExecutorService executor) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), concurrency * 2);
+        server.setExecutor(executor);
+        server.createContext("/", exchange -> {
+            int inFlight = upstreamInFlight.incrementAndGet();
+            upstreamMaxInFlight.accumulateAndGet(inFlight, Math::max);
+            try {
+                Thread.sleep(delayMs);
+                exchange.getResponseHeaders().set("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, ITEM.length);
+                try (OutputStream body = exchange.getResponseBody()) {
+                    body.write(ITEM);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                upstreamInFlight.decrementAndGet();
+                exchange.close();
+            }
+        });
+        server.start();
+        return server;
+    }
+
+    private static double millis(long[] sorted, double percentile) {
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(percentile * sorted.length) - 1)] / 1e6;
+    }
+
+    private static int intArg(String[] args, int index, int defaultValue) {
+        return args.length > index ? Integer.parseInt(args[index]) : defaultValue;
+    }
+
+    private static class Result {
+        final double throughput;
+        final int errors;
+        final double p50;
+        final double p99;
+        final double max;
+        final int maxInFlight;
+
+        Result(double throughput, int errors, double p50, double p99, double max, int maxInFlight) {
+            this.throughput = throughput;
+            this.errors = errors;
+            this.p50 = p50;
+            this.p99 = p99;
+            this.max = max;
+            this.maxInFlight = maxInFlight;
+        }
+    }
+}
@@ -2,4 +2,6 @@ package ru.practicum.shareit;
 
 public class Constant {
     public static final String USER_HEADER = "X-Sharer-User-Id";
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    public static final String TOTAL_COUNT_HEADER = "X-Total-Count";
 }
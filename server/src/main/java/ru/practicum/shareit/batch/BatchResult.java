@@ -0,0 +1,24 @@
+package ru.practicum.shareit.batch;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchResult<T> {
+    private int index;
+    private T result;
+    private String error;
+
+    public static <T> BatchResult<T> ok(int index, T result) {
+        return new BatchResult<>(index, result, null);
+    }
+
+    public static <T> BatchResult<T> failed(int index, String error) {
+        return new BatchResult<>(index, null, error);
+    }
+}
@@ -2,13 +2,17 @@ package ru.practicum.shareit.booking.controller;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.dto.BookingDtoWithItemAndUser;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.pagination.PageCursor;
 
 import java.util.List;
 
+import static ru.practicum.shareit.Constant.TOTAL_COUNT_HEADER;
 import static ru.practicum.shareit.Constant.USER_HEADER;
 
 @RestController
@@ -40,22 +44,44 @@ public class BookingController {
     }
 
     @GetMapping
-    public List<BookingDtoWithItemAndUser> findAllByUserAndState(@RequestHeader(USER_HEADER) Long requesterId,
-                                                                 @RequestParam(defaultValue = "ALL") String state,
-                                                                 @RequestParam(defaultValue = "0") int from,
-                                                                 @RequestParam(defaultValue = "10") int size) {
+    public ResponseEntity<List<BookingDtoWithItemAndUser>> findAllByUserAndState(
+            @RequestHeader(USER_HEADER) Long requesterId,
+            @RequestParam(defaultValue = "ALL") String state,
+            @RequestParam(defaultValue = "0") int from,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "false") boolean total) {
         log.info("BookingController: обработка запроса от пользователя {} на поиск бронирований по состоянию {}",
                 requesterId, state);
-        return service.findAllByUserAndState(requesterId, state, from, size);
+        List<BookingDtoWithItemAndUser> bookings = after == null
+                ? service.findAllByUserAndState(requesterId, state, from, size)
+                : service.findAllByUserAndStateAfter(requesterId, state, after, size);
+        HttpHeaders headers = PageCursor.nextCursorHeaders(bookings, size,
+                booking -> PageCursor.of(booking.getStart(), booking.getId()));
+        if (total) {
+            headers.set(TOTAL_COUNT_HEADER, String.valueOf(service.countByUserAndState(requesterId, state)));
+        }
+        return ResponseEntity.ok().headers(headers).body(bookings);
     }
 
     @GetMapping("/owner")
-    public List<BookingDtoWithItemAndUser> findAllByOwnerAndState(@RequestHeader(USER_HEADER) Long ownerId,
-                                                                  @RequestParam(defaultValue = "ALL") String state,
-                                                                  @RequestParam(defaultValue = "0") int from,
-                                                                  @RequestParam(defaultValue = "10") int size) {
+    public ResponseEntity<List<BookingDtoWithItemAndUser>> findAllByOwnerAndState(
+            @RequestHeader(USER_HEADER) Long ownerId,
+            @RequestParam(defaultValue = "ALL") String state,
+            @RequestParam(defaultValue = "0") int from,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "false") boolean total) {
         log.info("BookingController: обработка запроса от пользователя {} на поиск всех бронирований его вещей с " +
                 "состоянием {}", ownerId, state);
-        return service.findAllByOwnerAndState(ownerId, state, from, size);
+        List<BookingDtoWithItemAndUser> bookings = after == null
+                ? service.findAllByOwnerAndState(ownerId, state, from, size)
+                : service.findAllByOwnerAndStateAfter(ownerId, state, after, size);
+        HttpHeaders headers = PageCursor.nextCursorHeaders(bookings, size,
+                booking -> PageCursor.of(booking.getStart(), booking.getId()));
+        if (total) {
+            headers.set(TOTAL_COUNT_HEADER, String.valueOf(service.countByOwnerAndState(ownerId, state)));
+        }
+        return ResponseEntity.ok().headers(headers).body(bookings);
     }
 }
\ No newline at end of file
@@ -0,0 +1,120 @@
+package ru.practicum.shareit.booking.interval;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingStorage;
+import ru.practicum.shareit.cache.BoundedCache;
+import ru.practicum.shareit.exception.exceptions.BadRequestException;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+@Slf4j
+@Component
+public class BookingIntervalIndex {
+    private static final List<BookingStatus> ACTIVE_STATUSES = List.of(BookingStatus.WAITING, BookingStatus.APPROVED);
+
+    private final BookingStorage storage;
+    private final BoundedCache<Long, ItemIntervals> items;
+
+    public BookingIntervalIndex(BookingStorage storage, MeterRegistry registry,
+                                @Value("${shareit.booking-intervals.max-items:10000}") int maxItems) {
+        this.storage = storage;
+        this.items = new BoundedCache<>("booking-intervals", maxItems, registry);
+    }
+
+    public void reserve(Booking booking) {
+        Long itemId = booking.getItem().getId();
+        ItemIntervals intervals = items.getOrCreate(itemId, id -> new ItemIntervals());
+        long start = toEpochMicros(booking.getStartDate());
+        long end = toEpochMicros(booking.getEndDate());
+        synchronized (intervals) {
+            if (!intervals.loaded) {
+                storage.findAllByItemIdAndStatusInAndEndDateAfter(itemId, ACTIVE_STATUSES, LocalDateTime.now()).stream()
+                        .filter(existing -> !existing.getId().equals(booking.getId()))
+                        .forEach(existing -> intervals.tree.add(existing.getId(),
+                                toEpochMicros(existing.getStartDate()), toEpochMicros(existing.getEndDate())));
+                intervals.loaded = true;
+            }
+            if (intervals.tree.overlaps(start, end)) {
+                throw new BadRequestException(String.format(
+                        "Вещь c id %d уже забронирована на период с %s по %s", itemId, booking.getStartDate(),
+                        booking.getEndDate()));
+            }
+            intervals.tree.add(booking.getId(), start, end);
+        }
+        afterCompletion(booking, false);
+    }
+
+    public void release(Booking booking) {
+        afterCompletion(booking, true);
+    }
+
+    public void evictItem(Long itemId) {
+        items.evict(itemId);
+    }
+
+    public void evictUserItemsAfterCommit(Long userId) {
+        List<Long> itemIds = storage.findItemIdsByUserId(userId);
+        Runnable eviction = () -> {
+            log.info("BookingIntervalIndex: очистка индекса бронирований для {} вещей пользователя {}",
+                    itemIds.size(), userId);
+            itemIds.forEach(items::evict);
+        };
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            eviction.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                eviction.run();
+            }
+        });
+    }
+
+    private void afterCompletion(Booking booking, boolean onCommit) {
+        Long itemId = booking.getItem().getId();
+        Long bookingId = booking.getId();
+        Runnable removal = () -> {
+            ItemIntervals intervals = items.getIfPresent(itemId);
+            if (intervals != null) {
+                synchronized (intervals) {
+                    intervals.tree.remove(bookingId);
+                }
+            }
+        };
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            if (onCommit) {
+                removal.run();
+            }
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if ((status == STATUS_COMMITTED) == onCommit) {
+                    removal.run();
+                }
+            }
+        });
+    }
+
+    static long toEpochMicros(LocalDateTime dateTime) {
+        return ChronoUnit.MICROS.between(Instant.EPOCH, dateTime.toInstant(ZoneOffset.UTC));
+    }
+
+    private static class ItemIntervals {
+        private final IntervalTree tree = new IntervalTree();
+        private boolean loaded;
+    }
+}
@@ -0,0 +1,101 @@
+package ru.practicum.shareit.booking.interval;
+
+import java.util.Arrays;
+
+public class IntervalSet {
+    private final long[] starts;
+    private final long[] ends;
+
+    private IntervalSet(long[] starts, long[] ends) {
+        this.starts = starts;
+        this.ends = ends;
+    }
+
+    public static IntervalSet union(long[] starts, long[] ends) {
+        long[] sortedStarts = starts.clone();
+        long[] sortedEnds = ends.clone();
+        Arrays.sort(sortedStarts);
+        Arrays.sort(sortedEnds);
+        long[] mergedStarts = new long[sortedStarts.length];
+        long[] mergedEnds = new long[sortedStarts.length];
+        int size = 0;
+        int depth = 0;
+        int i = 0;
+        int j = 0;
+        while (i < sortedStarts.length) {
+            if (sortedStarts[i] <= sortedEnds[j]) {
+                if (depth++ == 0) {
+                    mergedStarts[size] = sortedStarts[i];
+                }
+                i++;
+            } else {
+                if (--depth == 0) {
+                    mergedEnds[size++] = sortedEnds[j];
+                }
+                j++;
+            }
+        }
+        if (sortedStarts.length > 0) {
+            mergedEnds[size++] = sortedEnds[sortedEnds.length - 1];
+        }
+        return new IntervalSet(Arrays.copyOf(mergedStarts, size), Arrays.copyOf(mergedEnds, size));
+    }
+
+    public IntervalSet clip(long from, long to) {
+        int first = firstEndingAfter(from);
+        int size = 0;
+        long[] clippedStarts = new long[starts.length - first];
+        long[] clippedEnds = new long[starts.length - first];
+        for (int i = first; i < starts.length && starts[i] < to; i++) {
+            clippedStarts[size] = Math.max(starts[i], from);
+            clippedEnds[size++] = Math.min(ends[i], to);
+        }
+        return new IntervalSet(Arrays.copyOf(clippedStarts, size), Arrays.copyOf(clippedEnds, size));
+    }
+
+    public IntervalSet complement(long from, long to) {
+        IntervalSet busy = clip(from, to);
+        long[] freeStarts = new long[busy.size() + 1];
+        long[] freeEnds = new long[busy.size() + 1];
+        int size = 0;
+        long cursor = from;
+        for (int i = 0; i < busy.size(); i++) {
+            if (busy.starts[i] > cursor) {
+                freeStarts[size] = cursor;
+                freeEnds[size++] = busy.starts[i];
+            }
+            cursor = busy.ends[i];
+        }
+        if (cursor < to) {
+            freeStarts[size] = cursor;
+            freeEnds[size++] = to;
+        }
+        return new IntervalSet(Arrays.copyOf(freeStarts, size), Arrays.copyOf(freeEnds, size));
+    }
+
+    public int size() {
+        return starts.length;
+    }
+
+    public long start(int index) {
+        return starts[index];
+    }
+
+    public long end(int index) {
+        return ends[index];
+    }
+
+    private int firstEndingAfter(long from) {
+        int low = 0;
+        int high = ends.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (ends[middle] <= from) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+}
@@ -1,43 +1,191 @@
 package ru.practicum.shareit.booking.repository;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface BookingStorage extends JpaRepository<Booking, Long> {
 
+    @Override
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    Optional<Booking> findById(Long id);
+
     List<Booking> findAllByItemOwnerId(Long ownerId, Sort sort);
 
-    Page<Booking> findAllByItemOwnerId(Long ownerId, Pageable pageable);
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    Slice<Booking> findAllByItemOwnerId(Long ownerId, Pageable pageable);
 
-    Page<Booking> findAllByItemOwnerIdAndStartDateBeforeAndEndDateAfter(
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    Slice<Booking> findAllByItemOwnerIdAndStartDateBeforeAndEndDateAfter(
             Long ownerId, LocalDateTime startDate, LocalDateTime endDate, Pageable pageable);
 
-    Page<Booking> findAllByItemOwnerIdAndEndDateBefore(Long ownerId, LocalDateTime endDate, Pageable pageable);
-
-    Page<Booking> findAllByItemOwnerIdAndStartDateAfter(Long ownerId, LocalDateTime startDate, Pageable pageable);
-
-    Page<Booking> findAllByItemOwnerIdAndStatus(Long ownerId, BookingStatus status, Pageable pageable);
-
-    Page<Booking> findAllByBookerId(Long bookerId, Pageable pageable);
-
-    Page<Booking> findAllByBookerIdAndStartDateBeforeAndEndDateAfter(
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    Slice<Booking> findAllByItemOwnerIdAndEndDateBefore(Long ownerId, LocalDateTime endDate, Pageable pageable);
+
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    Slice<Booking> findAllByItemOwnerIdAndStartDateAfter(Long ownerId, LocalDateTime startDate, Pageable pageable);
+
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    Slice<Booking> findAllByItemOwnerIdAndStatus(Long ownerId, BookingStatus status, Pageable pageable);
+
+    long countByItemOwnerId(Long ownerId);
+
+    long countByItemOwnerIdAndStartDateBeforeAndEndDateAfter(Long ownerId, LocalDateTime startDate,
+                                                             LocalDateTime endDate);
+
+    long countByItemOwnerIdAndEndDateBefore(Long ownerId, LocalDateTime endDate);
+
+    long countByItemOwnerIdAndStartDateAfter(Long ownerId, LocalDateTime startDate);
+
+    long countByItemOwnerIdAndStatus(Long ownerId, BookingStatus status);
+
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    @Query("select b from Booking b " +
+            "where b.item.owner.id = :ownerId " +
+            "and (b.startDate < :start or (b.startDate = :start and b.id < :id))")
+    List<Booking> findAllByItemOwnerIdAfterCursor(@Param("ownerId") Long ownerId, @Param("start") LocalDateTime start,
+                                                  @Param("id") Long id, Pageable pageable);
+
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    @Query("select b from Booking b " +
+            "where b.item.owner.id = :ownerId " +
+            "and b.startDate < :now and b.endDate > :now " +
+            "and (b.startDate < :start or (b.startDate = :start and b.id < :id))")
+    List<Booking> findCurrentByItemOwnerIdAfterCursor(@Param("ownerId") Long ownerId, @Param("now") LocalDateTime now,
+                                                      @Param("start") LocalDateTime start, @Param("id") Long id,
+                                                      Pageable pageable);
+
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    @Query("select b from Booking b " +
+            "where b.item.owner.id = :ownerId " +
+            "and b.endDate < :now " +
+            "and (b.startDate < :start or (b.startDate = :start and b.id < :id))")
+    List<Booking> findPastByItemOwnerIdAfterCursor(@Param("ownerId") Long ownerId, @Param("now") LocalDateTime now,
+                                                   @Param("start") LocalDateTime start, @Param("id") Long id,
+                                                   Pageable pageable);
+
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    @Query("select b from Booking b " +
+            "where b.item.owner.id = :ownerId " +
+            "and b.startDate > :now " +
+            "and (b.startDate < :start or (b.startDate = :start and b.id < :id))")
+    List<Booking> findFutureByItemOwnerIdAfterCursor(@Param("ownerId") Long ownerId, @Param("now") LocalDateTime now,
+                                                     @Param("start") LocalDateTime start, @Param("id") Long id,
+                                                     Pageable pageable);
+
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    @Query("select b from Booking b " +
+            "where b.item.owner.id = :ownerId " +
+            "and b.status = :status " +
+            "and (b.startDate < :start or (b.startDate = :start and b.id < :id))")
+    List<Booking> findAllByItemOwnerIdAndStatusAfterCursor(@Param("ownerId") Long ownerId,
+                                                           @Param("status") BookingStatus status,
+                                                           @Param("start") LocalDateTime start, @Param("id") Long id,
+                                                           Pageable pageable);
+
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    Slice<Booking> findAllByBookerId(Long bookerId, Pageable pageable);
+
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    Slice<Booking> findAllByBookerIdAndStartDateBeforeAndEndDateAfter(
             Long bookerId, LocalDateTime startDate, LocalDateTime endDate, Pageable pageable);
 
-    Page<Booking> findAllByBookerIdAndEndDateBefore(Long bookerId, LocalDateTime endDate, Pageable pageable);
-
-    Page<Booking> findAllByBookerIdAndStartDateAfter(Long bookerId, LocalDateTime startDate, Pageable pageable);
-
-    Page<Booking> findAllByBookerIdAndStatus(Long bookerId, BookingStatus status, Pageable pageable);
-
-    Optional<Booking> findFirstByItemIdAndStatusNotAndStartDateAfter(
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    Slice<Booking> findAllByBookerIdAndEndDateBefore(Long bookerId, LocalDateTime endDate, Pageable pageable);
+
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    Slice<Booking> findAllByBookerIdAndStartDateAfter(Long bookerId, LocalDateTime startDate, Pageable pageable);
+
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    Slice<Booking> findAllByBookerIdAndStatus(Long bookerId, BookingStatus status, Pageable pageable);
+
+    long countByBookerId(Long bookerId);
+
+    long countByBookerIdAndStartDateBeforeAndEndDateAfter(Long bookerId, LocalDateTime startDate,
+                                                          LocalDateTime endDate);
+
+    long countByBookerIdAndEndDateBefore(Long bookerId, LocalDateTime endDate);
+
+    long countByBookerIdAndStartDateAfter(Long bookerId, LocalDateTime startDate);
+
+    long countByBookerIdAndStatus(Long bookerId, BookingStatus status);
+
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    @Query("select b from Booking b " +
+            "where b.booker.id = :bookerId " +
+            "and (b.startDate < :start or (b.startDate = :start and b.id < :id))")
+    List<Booking> findAllByBookerIdAfterCursor(@Param("bookerId") Long bookerId, @Param("start") LocalDateTime start,
+                                               @Param("id") Long id, Pageable pageable);
+
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    @Query("select b from Booking b " +
+            "where b.booker.id = :bookerId " +
+            "and b.startDate < :now and b.endDate > :now " +
+            "and (b.startDate < :start or (b.startDate = :start and b.id < :id))")
+    List<Booking> findCurrentByBookerIdAfterCursor(@Param("bookerId") Long bookerId, @Param("now") LocalDateTime now,
+                                                   @Param("start") LocalDateTime start, @Param("id") Long id,
+                                                   Pageable pageable);
+
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    @Query("select b from Booking b " +
+            "where b.booker.id = :bookerId " +
+            "and b.endDate < :now " +
+            "and (b.startDate < :start or (b.startDate = :start and b.id < :id))")
+    List<Booking> findPastByBookerIdAfterCursor(@Param("bookerId") Long bookerId, @Param("now") LocalDateTime now,
+                                                @Param("start") LocalDateTime start, @Param("id") Long id,
+                                                Pageable pageable);
+
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    @Query("select b from Booking b " +
+            "where b.booker.id = :bookerId " +
+            "and b.startDate > :now " +
+            "and (b.startDate < :start or (b.startDate = :start and b.id < :id))")
+    List<Booking> findFutureByBookerIdAfterCursor(@Param("bookerId") Long bookerId, @Param("now") LocalDateTime now,
+                                                  @Param("start") LocalDateTime start, @Param("id") Long id,
+                                                  Pageable pageable);
+
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    @Query("select b from Booking b " +
+            "where b.booker.id = :bookerId " +
+            "and b.status = :status " +
+            "and (b.startDate < :start or (b.startDate = :start and b.id < :id))")
+    List<Booking> findAllByBookerIdAndStatusAfterCursor(@Param("bookerId") Long bookerId,
+                                                        @Param("status") BookingStatus status,
+                                                        @Param("start") LocalDateTime start, @Param("id") Long id,
+                                                        Pageable pageable);
+
+    @Query(value = "select id, start_date, end_date, item_id, booker_id, status from (" +
+            "  select b.*, row_number() over (partition by b.item_id order by b.end_date desc) as rn " +
+            "  from bookings b " +
+            "  where b.item_id in (:itemIds) and b.status = 'APPROVED' and b.start_date < :now" +
+            ") as last_bookings where rn = 1 " +
+            "union all " +
+            "select id, start_date, end_date, item_id, booker_id, status from (" +
+            "  select b.*, row_number() over (partition by b.item_id order by b.start_date asc) as rn " +
+            "  from bookings b " +
+            "  where b.item_id in (:itemIds) and b.status = 'APPROVED' and b.start_date > :now" +
+            ") as next_bookings where rn = 1", nativeQuery = true)
+    List<Booking> findLastAndNextByItemIds(@Param("itemIds") Collection<Long> itemIds,
+                                           @Param("now") LocalDateTime now);
+
+    List<Booking> findAllByItemIdAndStatusInAndEndDateAfter(Long itemId, Collection<BookingStatus> statuses,
+                                                            LocalDateTime endDate);
+
+    List<Booking> findAllByItemIdAndStatusInAndStartDateBeforeAndEndDateAfter(
+            Long itemId, Collection<BookingStatus> statuses, LocalDateTime startDate, LocalDateTime endDate);
+
+    Optional<Booking> findFirstByItemIdAndStatusAndStartDateAfter(
             Long itemId, BookingStatus status, LocalDateTime startDate, Sort sort);
 
     Optional<Booking> findFirstByItemIdAndStatusAndStartDateBefore(
@@ -46,4 +194,8 @@ public interface BookingStorage extends JpaRepository<Booking, Long> {
     Optional<Booking> findFirstByItemIdAndBookerIdAndStatusAndEndDateBefore(
             Long itemId, Long bookerId, BookingStatus bookingStatus, LocalDateTime endDate
     );
-}
\ No newline at end of file
+
+    @Query("select distinct b.item.id from Booking b " +
+            "where b.booker.id = :userId or b.item.owner.id = :userId")
+    List<Long> findItemIdsByUserId(@Param("userId") Long userId);
+}
@@ -15,4 +15,12 @@ public interface BookingService {
     List<BookingDtoWithItemAndUser> findAllByUserAndState(Long userId, String state, int from, int size);
 
     List<BookingDtoWithItemAndUser> findAllByOwnerAndState(Long ownerId, String state, int from, int size);
+
+    List<BookingDtoWithItemAndUser> findAllByUserAndStateAfter(Long userId, String state, String after, int size);
+
+    List<BookingDtoWithItemAndUser> findAllByOwnerAndStateAfter(Long ownerId, String state, String after, int size);
+
+    long countByUserAndState(Long userId, String state);
+
+    long countByOwnerAndState(Long ownerId, String state);
 }
\ No newline at end of file
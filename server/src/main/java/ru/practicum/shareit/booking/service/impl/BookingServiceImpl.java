@@ -2,6 +2,7 @@ package ru.practicum.shareit.booking.service.impl;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
@@ -9,15 +10,21 @@ import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.dto.BookingDtoWithItemAndUser;
 import ru.practicum.shareit.booking.dto.BookingMapper;
+import ru.practicum.shareit.booking.interval.BookingIntervalIndex;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.model.State;
 import ru.practicum.shareit.booking.repository.BookingStorage;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.cache.GuardCache;
 import ru.practicum.shareit.exception.exceptions.BadRequestException;
 import ru.practicum.shareit.exception.exceptions.NotFoundException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemStorage;
+import ru.practicum.shareit.item.service.impl.ItemBookingsUpdater;
+import ru.practicum.shareit.pagination.ApproximateCountCache;
+import ru.practicum.shareit.pagination.FromSizeRequest;
+import ru.practicum.shareit.pagination.PageCursor;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserStorage;
 
@@ -36,7 +43,11 @@ public class BookingServiceImpl implements BookingService {
     private final BookingStorage storage;
     private final UserStorage userStorage;
     private final ItemStorage itemStorage;
-    private final Sort sortStartDesc = Sort.by(DESC, "startDate");
+    private final ApproximateCountCache countCache;
+    private final ItemBookingsUpdater itemBookingsUpdater;
+    private final GuardCache guardCache;
+    private final BookingIntervalIndex intervalIndex;
+    private final Sort sortStartDesc = Sort.by(DESC, "startDate").and(Sort.by(DESC, "id"));
 
     @Override
     @Transactional
@@ -56,8 +67,16 @@ public class BookingServiceImpl implements BookingService {
         if (userId.equals(item.getOwner().getId())) {
             throw new NotFoundException("Собственник не может арендовать свою вещь");
         }
-        Booking booking = BookingMapper.toBooking(bookingRequestDto, user, item, BookingStatus.WAITING);
-        return BookingMapper.toBookingDtoWithItemAndUser(storage.save(booking));
+        Booking booking = storage.save(BookingMapper.toBooking(bookingRequestDto, user, item, BookingStatus.WAITING));
+        intervalIndex.reserve(booking);
+        try {
+            storage.flush();
+        } catch (DataIntegrityViolationException e) {
+            throw new BadRequestException(String.format("Вещь c id %d уже забронирована на период с %s по %s",
+                    item.getId(), booking.getStartDate(), booking.getEndDate()));
+        }
+        itemBookingsUpdater.refresh(item);
+        return BookingMapper.toBookingDtoWithItemAndUser(booking);
     }
 
     @Override
@@ -76,15 +95,19 @@ public class BookingServiceImpl implements BookingService {
         }
 
         booking.setStatus(isApproved ? BookingStatus.APPROVED : BookingStatus.REJECTED);
-        return BookingMapper.toBookingDtoWithItemAndUser(storage.save(booking));
+        booking = storage.save(booking);
+        if (!isApproved) {
+            intervalIndex.release(booking);
+        }
+        itemBookingsUpdater.refresh(booking.getItem());
+        return BookingMapper.toBookingDtoWithItemAndUser(booking);
     }
 
     @Override
     public BookingDtoWithItemAndUser findById(Long requesterId, Long bookingId) {
         log.info("BookingService: получен запрос на поиск бронирования с id {} от пользователя {}", bookingId,
                 requesterId);
-        userStorage.findById(requesterId).orElseThrow(() -> new NotFoundException(
-                String.format("Пользователь с id %d не найден", requesterId)));
+        guardCache.checkUser(requesterId);
         Booking booking = storage.findById(bookingId).orElseThrow(() -> new NotFoundException(
                 String.format("Бронирование с id %d не найдено", bookingId)));
 
@@ -99,10 +122,9 @@ public class BookingServiceImpl implements BookingService {
     public List<BookingDtoWithItemAndUser> findAllByUserAndState(Long userId, String stateString, int from, int size) {
         log.info("BookingService: получен запрос на поиск всех бронирований с состоянием {} от пользователя {}",
                 stateString, userId);
-        userStorage.findById(userId).orElseThrow(() -> new NotFoundException(
-                String.format("Пользователь с id %d не найден", userId)));
+        guardCache.checkUser(userId);
         State state = State.stringToState(stateString);
-        PageRequest pageRequest = PageRequest.of((from / size), size, sortStartDesc);
+        PageRequest pageRequest = FromSizeRequest.of(from, size, sortStartDesc);
         List<Booking> bookings = new ArrayList<>();
         switch (state) {
             case ALL:
@@ -138,7 +160,7 @@ public class BookingServiceImpl implements BookingService {
         }
         List<Booking> bookings = new ArrayList<>();
         State state = State.stringToState(stateString);
-        PageRequest pageRequest = PageRequest.of((from / size), size, sortStartDesc);
+        PageRequest pageRequest = FromSizeRequest.of(from, size, sortStartDesc);
         switch (state) {
             case ALL:
                 bookings = storage.findAllByItemOwnerId(ownerId, pageRequest).getContent();
@@ -167,4 +189,132 @@ public class BookingServiceImpl implements BookingService {
         }
         return bookings.stream().map(BookingMapper::toBookingDtoWithItemAndUser).collect(Collectors.toList());
     }
-}
\ No newline at end of file
+
+    @Override
+    public List<BookingDtoWithItemAndUser> findAllByUserAndStateAfter(Long userId, String stateString, String after,
+                                                                      int size) {
+        log.info("BookingService: получен запрос на поиск бронирований с состоянием {} от пользователя {} после " +
+                "курсора {}", stateString, userId, after);
+        guardCache.checkUser(userId);
+        State state = State.stringToState(stateString);
+        PageCursor cursor = PageCursor.decode(after);
+        PageRequest limit = PageRequest.of(0, size, sortStartDesc);
+        List<Booking> bookings = new ArrayList<>();
+        switch (state) {
+            case ALL:
+                bookings = storage.findAllByBookerIdAfterCursor(userId, cursor.getTimestamp(), cursor.getId(), limit);
+                break;
+            case CURRENT:
+                bookings = storage.findCurrentByBookerIdAfterCursor(userId, LocalDateTime.now(), cursor.getTimestamp(),
+                        cursor.getId(), limit);
+                break;
+            case PAST:
+                bookings = storage.findPastByBookerIdAfterCursor(userId, LocalDateTime.now(), cursor.getTimestamp(),
+                        cursor.getId(), limit);
+                break;
+            case FUTURE:
+                bookings = storage.findFutureByBookerIdAfterCursor(userId, LocalDateTime.now(), cursor.getTimestamp(),
+                        cursor.getId(), limit);
+                break;
+            case WAITING:
+                bookings = storage.findAllByBookerIdAndStatusAfterCursor(userId, BookingStatus.WAITING,
+                        cursor.getTimestamp(), cursor.getId(), limit);
+                break;
+            case REJECTED:
+                bookings = storage.findAllByBookerIdAndStatusAfterCursor(userId, BookingStatus.REJECTED,
+                        cursor.getTimestamp(), cursor.getId(), limit);
+                break;
+        }
+        return bookings.stream().map(BookingMapper::toBookingDtoWithItemAndUser).collect(Collectors.toList());
+    }
+
+    @Override
+    public List<BookingDtoWithItemAndUser> findAllByOwnerAndStateAfter(Long ownerId, String stateString, String after,
+                                                                       int size) {
+        log.info("BookingService: получен запрос на поиск бронирований с состоянием {} от собственника {} после " +
+                "курсора {}", stateString, ownerId, after);
+        List<Long> ids = itemStorage.findAllOwnersItemsIds(ownerId);
+        if (ids.isEmpty()) {
+            throw new NotFoundException(String.format("У пользователя с id %d нет вещей в собственности", ownerId));
+        }
+        State state = State.stringToState(stateString);
+        PageCursor cursor = PageCursor.decode(after);
+        PageRequest limit = PageRequest.of(0, size, sortStartDesc);
+        List<Booking> bookings = new ArrayList<>();
+        switch (state) {
+            case ALL:
+                bookings = storage.findAllByItemOwnerIdAfterCursor(ownerId, cursor.getTimestamp(), cursor.getId(),
+                        limit);
+                break;
+            case CURRENT:
+                bookings = storage.findCurrentByItemOwnerIdAfterCursor(ownerId, LocalDateTime.now(),
+                        cursor.getTimestamp(), cursor.getId(), limit);
+                break;
+            case PAST:
+                bookings = storage.findPastByItemOwnerIdAfterCursor(ownerId, LocalDateTime.now(),
+                        cursor.getTimestamp(), cursor.getId(), limit);
+                break;
+            case FUTURE:
+                bookings = storage.findFutureByItemOwnerIdAfterCursor(ownerId, LocalDateTime.now(),
+                        cursor.getTimestamp(), cursor.getId(), limit);
+                break;
+            case WAITING:
+                bookings = storage.findAllByItemOwnerIdAndStatusAfterCursor(ownerId, BookingStatus.WAITING,
+                        cursor.getTimestamp(), cursor.getId(), limit);
+                break;
+            case REJECTED:
+                bookings = storage.findAllByItemOwnerIdAndStatusAfterCursor(ownerId, BookingStatus.REJECTED,
+                        cursor.getTimestamp(), cursor.getId(), limit);
+                break;
+        }
+        return bookings.stream().map(BookingMapper::toBookingDtoWithItemAndUser).collect(Collectors.toList());
+    }
+
+    @Override
+    public long countByUserAndState(Long userId, String stateString) {
+        log.info("BookingService: получен запрос на подсчёт бронирований с состоянием {} от пользователя {}",
+                stateString, userId);
+        State state = State.stringToState(stateString);
+        return countCache.get(String.format("booker:%d:%s", userId, state), () -> {
+            switch (state) {
+                case CURRENT:
+                    return storage.countByBookerIdAndStartDateBeforeAndEndDateAfter(userId, LocalDateTime.now(),
+                            LocalDateTime.now());
+                case PAST:
+                    return storage.countByBookerIdAndEndDateBefore(userId, LocalDateTime.now());
+                case FUTURE:
+                    return storage.countByBookerIdAndStartDateAfter(userId, LocalDateTime.now());
+                case WAITING:
+                    return storage.countByBookerIdAndStatus(userId, BookingStatus.WAITING);
+                case REJECTED:
+                    return storage.countByBookerIdAndStatus(userId, BookingStatus.REJECTED);
+                default:
+                    return storage.countByBookerId(userId);
+            }
+        });
+    }
+
+    @Override
+    public long countByOwnerAndState(Long ownerId, String stateString) {
+        log.info("BookingService: получен запрос на подсчёт бронирований с состоянием {} от собственника {}",
+                stateString, ownerId);
+        State state = State.stringToState(stateString);
+        return countCache.get(String.format("owner:%d:%s", ownerId, state), () -> {
+            switch (state) {
+                case CURRENT:
+                    return storage.countByItemOwnerIdAndStartDateBeforeAndEndDateAfter(ownerId, LocalDateTime.now(),
+                            LocalDateTime.now());
+                case PAST:
+                    return storage.countByItemOwnerIdAndEndDateBefore(ownerId, LocalDateTime.now());
+                case FUTURE:
+                    return storage.countByItemOwnerIdAndStartDateAfter(ownerId, LocalDateTime.now());
+                case WAITING:
+                    return storage.countByItemOwnerIdAndStatus(ownerId, BookingStatus.WAITING);
+                case REJECTED:
+                    return storage.countByItemOwnerIdAndStatus(ownerId, BookingStatus.REJECTED);
+                default:
+                    return storage.countByItemOwnerId(ownerId);
+            }
+        });
+    }
+}
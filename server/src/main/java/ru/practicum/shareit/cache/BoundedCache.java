@@ -0,0 +1,97 @@
+package ru.practicum.shareit.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+public class BoundedCache<K, V> {
+    private final Map<K, V> entries;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    public BoundedCache(String name, int maxSize, MeterRegistry registry) {
+        this.hits = Counter.builder("shareit.cache.gets").tag("cache", name).tag("result", "hit").register(registry);
+        this.misses = Counter.builder("shareit.cache.gets").tag("cache", name).tag("result", "miss")
+                .register(registry);
+        this.evictions = Counter.builder("shareit.cache.evictions").tag("cache", name).register(registry);
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                if (size() > maxSize) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+        Gauge.builder("shareit.cache.size", this, BoundedCache::size).tag("cache", name).register(registry);
+    }
+
+    public V get(K key, Function<K, V> loader) {
+        synchronized (entries) {
+            V value = entries.get(key);
+            if (value != null) {
+                hits.increment();
+                return value;
+            }
+        }
+        misses.increment();
+        V value = loader.apply(key);
+        if (value != null) {
+            synchronized (entries) {
+                entries.put(key, value);
+            }
+        }
+        return value;
+    }
+
+    public V getIfPresent(K key) {
+        synchronized (entries) {
+            return entries.get(key);
+        }
+    }
+
+    public V getOrCreate(K key, Function<K, V> factory) {
+        synchronized (entries) {
+            V value = entries.get(key);
+            if (value != null) {
+                hits.increment();
+                return value;
+            }
+            misses.increment();
+            value = factory.apply(key);
+            entries.put(key, value);
+            return value;
+        }
+    }
+
+    public void evict(K key) {
+        synchronized (entries) {
+            entries.remove(key);
+        }
+    }
+
+    public void evictIf(Predicate<V> predicate) {
+        synchronized (entries) {
+            entries.values().removeIf(predicate);
+        }
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package ru.practicum.shareit.cache;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemStorage;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.repository.ItemRequestStorage;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserStorage;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Component
+@RequiredArgsConstructor
+public class EntityTags {
+    private final GuardCache guardCache;
+    private final UserStorage userStorage;
+    private final ItemStorage itemStorage;
+    private final ItemRequestStorage itemRequestStorage;
+
+    public String userTag(Long userId) {
+        return tag("u", userId, userStorage.findRevisionById(userId));
+    }
+
+    public String itemTag(Long itemId, Long requesterId) {
+        if (guardCache.getItemOwnerId(itemId).equals(requesterId)) {
+            return null;
+        }
+        return tag("i", itemId, itemStorage.findRevisionById(itemId));
+    }
+
+    public String requestTag(Long requestId, Long requesterId) {
+        guardCache.checkUser(requesterId);
+        return tag("r", requestId, itemRequestStorage.findRevisionById(requestId));
+    }
+
+    public void touchUser(Long userId) {
+        userStorage.findById(userId).ifPresent(EntityTags::touch);
+    }
+
+    public void touchCommentAuthor(Long userId) {
+        itemStorage.findAllCommentedBy(userId).forEach(EntityTags::touch);
+    }
+
+    public void touchDeletedUser(Long userId) {
+        itemStorage.findAllCommentedBy(userId).forEach(EntityTags::touch);
+        itemRequestStorage.findAllAnsweredBy(userId).forEach(EntityTags::touch);
+    }
+
+    public void touchItem(Long itemId) {
+        itemStorage.findById(itemId).ifPresent(EntityTags::touch);
+    }
+
+    public void touchRequest(Long requestId) {
+        touchRequests(List.of(requestId));
+    }
+
+    public void touchRequests(Collection<Long> requestIds) {
+        if (!requestIds.isEmpty()) {
+            itemRequestStorage.findAllById(requestIds).forEach(EntityTags::touch);
+        }
+    }
+
+    private static void touch(User user) {
+        user.setRevision(user.getRevision() + 1);
+    }
+
+    private static void touch(Item item) {
+        item.setRevision(item.getRevision() + 1);
+    }
+
+    private static void touch(ItemRequest itemRequest) {
+        itemRequest.setRevision(itemRequest.getRevision() + 1);
+    }
+
+    private static String tag(String resource, Long id, Optional<Long> revision) {
+        return revision.map(value -> resource + id + "-" + Long.toString(value, 36)).orElse(null);
+    }
+}
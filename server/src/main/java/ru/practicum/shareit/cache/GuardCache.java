@@ -0,0 +1,51 @@
+package ru.practicum.shareit.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.exception.exceptions.NotFoundException;
+import ru.practicum.shareit.item.repository.ItemStorage;
+import ru.practicum.shareit.user.repository.UserStorage;
+
+@Slf4j
+@Component
+public class GuardCache {
+    private final UserStorage userStorage;
+    private final ItemStorage itemStorage;
+    private final BoundedCache<Long, Boolean> users;
+    private final BoundedCache<Long, Long> itemOwners;
+
+    public GuardCache(UserStorage userStorage, ItemStorage itemStorage, MeterRegistry registry,
+                      @Value("${shareit.guard-cache.max-size:10000}") int maxSize) {
+        this.userStorage = userStorage;
+        this.itemStorage = itemStorage;
+        this.users = new BoundedCache<>("users", maxSize, registry);
+        this.itemOwners = new BoundedCache<>("item-owners", maxSize, registry);
+    }
+
+    public void checkUser(Long userId) {
+        if (users.get(userId, id -> userStorage.existsById(id) ? Boolean.TRUE : null) == null) {
+            throw new NotFoundException(String.format("Пользователь с id %d не найден", userId));
+        }
+    }
+
+    public Long getItemOwnerId(Long itemId) {
+        Long ownerId = itemOwners.get(itemId, id -> itemStorage.findOwnerIdById(id).orElse(null));
+        if (ownerId == null) {
+            throw new NotFoundException(String.format("Не удалось найти вещь с id %d", itemId));
+        }
+        return ownerId;
+    }
+
+    public void evictUser(Long userId) {
+        log.info("GuardCache: удаление из кэша пользователя {} и его вещей", userId);
+        users.evict(userId);
+        itemOwners.evictIf(userId::equals);
+    }
+
+    public void evictItem(Long itemId) {
+        log.info("GuardCache: удаление из кэша вещи {}", itemId);
+        itemOwners.evict(itemId);
+    }
+}
@@ -0,0 +1,37 @@
+package ru.practicum.shareit.cache;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Cache;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.model.Item;
+
+import javax.persistence.EntityManagerFactory;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SecondLevelCache {
+    private final EntityManagerFactory entityManagerFactory;
+
+    public void evictItemsAfterCommit() {
+        Runnable eviction = () -> {
+            log.info("SecondLevelCache: очистка региона вещей и кэша запросов");
+            Cache cache = entityManagerFactory.getCache().unwrap(Cache.class);
+            cache.evictEntityData(Item.class);
+            cache.evictDefaultQueryRegion();
+        };
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            eviction.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                eviction.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,42 @@
+package ru.practicum.shareit.datasource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+
+@Configuration
+public class ConnectionLeaseConfiguration implements WebMvcConfigurer {
+    private static final String DATA_SOURCE_BEAN = "dataSource";
+
+    @Bean
+    public static BeanPostProcessor leaseTrackingPostProcessor(ObjectProvider<ConnectionLeaseTracker> tracker) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!DATA_SOURCE_BEAN.equals(beanName) || !(bean instanceof DataSource)
+                        || bean instanceof LeaseTrackingDataSource) {
+                    return bean;
+                }
+                if (bean instanceof LazyConnectionDataSourceProxy) {
+                    LazyConnectionDataSourceProxy lazy = (LazyConnectionDataSourceProxy) bean;
+                    if (!(lazy.getTargetDataSource() instanceof LeaseTrackingDataSource)) {
+                        lazy.setTargetDataSource(new LeaseTrackingDataSource(lazy.getTargetDataSource(), tracker));
+                    }
+                    return lazy;
+                }
+                return new LeaseTrackingDataSource((DataSource) bean, tracker);
+            }
+        };
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new ConnectionLeaseInterceptor());
+    }
+}
@@ -0,0 +1,55 @@
+package ru.practicum.shareit.datasource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Component
+public class ConnectionLeaseTracker {
+    public static final String NO_ENDPOINT = "none";
+
+    private static final ThreadLocal<String> CURRENT_ENDPOINT = new ThreadLocal<>();
+
+    private final MeterRegistry registry;
+    private final long leaseWarnNanos;
+
+    public ConnectionLeaseTracker(MeterRegistry registry,
+                                  @Value("${shareit.datasource.lease-warn-ms:500}") long leaseWarnMs) {
+        this.registry = registry;
+        this.leaseWarnNanos = TimeUnit.MILLISECONDS.toNanos(leaseWarnMs);
+    }
+
+    public static void setCurrentEndpoint(String endpoint) {
+        CURRENT_ENDPOINT.set(endpoint);
+    }
+
+    public static void clearCurrentEndpoint() {
+        CURRENT_ENDPOINT.remove();
+    }
+
+    public static String currentEndpoint() {
+        String endpoint = CURRENT_ENDPOINT.get();
+        return endpoint == null ? NO_ENDPOINT : endpoint;
+    }
+
+    public void recordAcquire(String endpoint, long nanos) {
+        timer("shareit.db.connection.acquire", endpoint).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordLease(String endpoint, long nanos) {
+        timer("shareit.db.connection.lease", endpoint).record(nanos, TimeUnit.NANOSECONDS);
+        if (nanos > leaseWarnNanos) {
+            log.warn("ConnectionLeaseTracker: соединение с БД удерживалось {} мс в {}",
+                    TimeUnit.NANOSECONDS.toMillis(nanos), endpoint);
+        }
+    }
+
+    private Timer timer(String name, String endpoint) {
+        return Timer.builder(name).tag("endpoint", endpoint).register(registry);
+    }
+}
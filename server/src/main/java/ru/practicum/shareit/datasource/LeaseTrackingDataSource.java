@@ -0,0 +1,68 @@
+package ru.practicum.shareit.datasource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+public class LeaseTrackingDataSource extends DelegatingDataSource implements AutoCloseable {
+    private final ObjectProvider<ConnectionLeaseTracker> trackerProvider;
+    private volatile ConnectionLeaseTracker tracker;
+
+    public LeaseTrackingDataSource(DataSource target, ObjectProvider<ConnectionLeaseTracker> trackerProvider) {
+        super(target);
+        this.trackerProvider = trackerProvider;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        long started = System.nanoTime();
+        return track(super.getConnection(), started);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        long started = System.nanoTime();
+        return track(super.getConnection(username, password), started);
+    }
+
+    @Override
+    public void close() throws Exception {
+        DataSource target = getTargetDataSource();
+        if (target instanceof AutoCloseable) {
+            ((AutoCloseable) target).close();
+        }
+    }
+
+    private Connection track(Connection connection, long started) {
+        long acquired = System.nanoTime();
+        String endpoint = ConnectionLeaseTracker.currentEndpoint();
+        tracker().recordAcquire(endpoint, acquired - started);
+        boolean[] closed = {false};
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if ("close".equals(method.getName()) && !closed[0]) {
+                        closed[0] = true;
+                        tracker().recordLease(endpoint, System.nanoTime() - acquired);
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    }
+                });
+    }
+
+    private ConnectionLeaseTracker tracker() {
+        ConnectionLeaseTracker current = tracker;
+        if (current == null) {
+            current = trackerProvider.getObject();
+            tracker = current;
+        }
+        return current;
+    }
+}
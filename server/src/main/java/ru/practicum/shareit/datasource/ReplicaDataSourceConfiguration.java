@@ -0,0 +1,87 @@
+package ru.practicum.shareit.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "shareit.datasource.replica-urls")
+public class ReplicaDataSourceConfiguration implements WebMvcConfigurer {
+    private final ReplicaStickiness stickiness;
+
+    public ReplicaDataSourceConfiguration(@Value("${shareit.datasource.sticky-seconds:5}") long stickySeconds) {
+        this.stickiness = new ReplicaStickiness(stickySeconds, Clock.systemUTC());
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource routingDataSource(DataSourceProperties properties, Environment environment,
+                                                      ObjectProvider<MeterRegistry> registry,
+                                                      @Value("${shareit.datasource.replica-urls}") List<String> replicaUrls) {
+        HikariDataSource primary = createPool(properties, environment, registry, properties.determineUrl(), "primary");
+        List<DataSource> replicas = new ArrayList<>();
+        for (int i = 0; i < replicaUrls.size(); i++) {
+            HikariDataSource replica = createPool(properties, environment, registry, replicaUrls.get(i),
+                    "replica-" + i);
+            replica.setReadOnly(true);
+            replicas.add(replica);
+        }
+        log.info("ReplicaDataSourceConfiguration: чтение распределяется по {} репликам, запись идёт в {}",
+                replicas.size(), properties.determineUrl());
+        return new ReplicaRoutingDataSource(primary, replicas, stickiness);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource routingDataSource) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy();
+        dataSource.setTargetDataSource(routingDataSource);
+        dataSource.setDefaultAutoCommit(true);
+        dataSource.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        dataSource.afterPropertiesSet();
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaStickiness replicaStickiness() {
+        return stickiness;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new ReadYourWritesInterceptor(stickiness));
+    }
+
+    private static HikariDataSource createPool(DataSourceProperties properties, Environment environment,
+                                               ObjectProvider<MeterRegistry> registry, String url, String name) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .url(url)
+                .build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(dataSource));
+        dataSource.setPoolName("shareit-" + name);
+        dataSource.setMetricsTrackerFactory((poolName, poolStats) ->
+                new MicrometerMetricsTrackerFactory(registry.getObject()).create(poolName, poolStats));
+        return dataSource;
+    }
+}
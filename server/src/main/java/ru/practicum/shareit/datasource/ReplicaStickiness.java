@@ -0,0 +1,53 @@
+package ru.practicum.shareit.datasource;
+
+import java.time.Clock;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class ReplicaStickiness {
+    private static final ThreadLocal<Long> CURRENT_USER = new ThreadLocal<>();
+    private static final int PURGE_THRESHOLD = 10_000;
+
+    private final Map<Long, Long> stickyUntil = new ConcurrentHashMap<>();
+    private final long stickyMillis;
+    private final Clock clock;
+
+    public ReplicaStickiness(long stickySeconds, Clock clock) {
+        this.stickyMillis = stickySeconds * 1000;
+        this.clock = clock;
+    }
+
+    public static void setCurrentUser(Long userId) {
+        CURRENT_USER.set(userId);
+    }
+
+    public static void clearCurrentUser() {
+        CURRENT_USER.remove();
+    }
+
+    public void markWrite(Long userId) {
+        if (userId != null && stickyMillis > 0) {
+            long now = clock.millis();
+            if (stickyUntil.size() >= PURGE_THRESHOLD) {
+                stickyUntil.values().removeIf(until -> until <= now);
+            }
+            stickyUntil.put(userId, now + stickyMillis);
+        }
+    }
+
+    public boolean isCurrentUserSticky() {
+        Long userId = CURRENT_USER.get();
+        if (userId == null) {
+            return false;
+        }
+        Long until = stickyUntil.get(userId);
+        if (until == null) {
+            return false;
+        }
+        if (until <= clock.millis()) {
+            stickyUntil.remove(userId, until);
+            return false;
+        }
+        return true;
+    }
+}
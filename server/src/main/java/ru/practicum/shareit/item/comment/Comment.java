@@ -3,7 +3,6 @@ package ru.practicum.shareit.item.comment;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
-import org.hibernate.annotations.CreationTimestamp;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.model.User;
 
@@ -17,7 +16,8 @@ import java.time.LocalDateTime;
 @Table(name = "comments", schema = "public")
 public class Comment {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "comments_seq")
+    @SequenceGenerator(name = "comments_seq", sequenceName = "comments_seq", allocationSize = 50)
     private Long id;
     @Column(nullable = false)
     private String text;
@@ -25,6 +25,10 @@ public class Comment {
     private Item item;
     @ManyToOne(fetch = FetchType.LAZY)
     private User author;
-    @CreationTimestamp
     private LocalDateTime created;
+
+    @PrePersist
+    void onCreate() {
+        created = LocalDateTime.now();
+    }
 }
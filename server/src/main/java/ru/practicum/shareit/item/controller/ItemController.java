@@ -2,16 +2,25 @@ package ru.practicum.shareit.item.controller;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import ru.practicum.shareit.batch.BatchResult;
+import ru.practicum.shareit.cache.EntityTags;
 import ru.practicum.shareit.item.comment.CommentRequestDto;
 import ru.practicum.shareit.item.comment.CommentResponseDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemRequestDto;
 import ru.practicum.shareit.item.dto.ItemResponseDto;
 import ru.practicum.shareit.item.dto.ItemResponseDtoWithBookings;
 import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.pagination.PageCursor;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
+import static org.springframework.format.annotation.DateTimeFormat.ISO.DATE_TIME;
 import static ru.practicum.shareit.Constant.USER_HEADER;
 
 @RestController
@@ -20,6 +29,7 @@ import static ru.practicum.shareit.Constant.USER_HEADER;
 @RequestMapping("/items")
 public class ItemController {
     private final ItemService service;
+    private final EntityTags entityTags;
 
     @PostMapping
     public ItemResponseDto create(@RequestHeader(USER_HEADER) Long userId,
@@ -28,6 +38,14 @@ public class ItemController {
         return service.create(userId, itemRequestDto);
     }
 
+    @PostMapping("/batch")
+    public List<BatchResult<ItemResponseDto>> createAll(@RequestHeader(USER_HEADER) Long userId,
+                                                        @RequestBody List<ItemRequestDto> itemRequestDtos) {
+        log.info("ItemController: обработка запроса от пользователя {} на добавление {} вещей", userId,
+                itemRequestDtos.size());
+        return service.createAll(userId, itemRequestDtos);
+    }
+
     @PostMapping("/{itemId}/comment")
     public CommentResponseDto addComment(@RequestHeader(USER_HEADER) Long userId, @PathVariable Long itemId,
                                          @RequestBody CommentRequestDto commentRequestDto) {
@@ -45,25 +63,57 @@ public class ItemController {
     }
 
     @GetMapping("/{itemId}")
-    public ItemResponseDtoWithBookings findById(@PathVariable Long itemId, @RequestHeader(USER_HEADER) Long userId) {
+    public ResponseEntity<ItemResponseDtoWithBookings> findById(@PathVariable Long itemId,
+                                                                @RequestHeader(USER_HEADER) Long userId,
+                                                                WebRequest request) {
         log.info("ItemController: обработка запроса на поиск вещи с id {}", itemId);
-        return service.findById(itemId, userId);
+        String tag = entityTags.itemTag(itemId, userId);
+        if (tag != null && request.checkNotModified(tag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .varyBy(USER_HEADER)
+                .body(service.findById(itemId, userId));
+    }
+
+    @GetMapping("/{itemId}/availability")
+    public ItemAvailabilityDto findAvailability(@PathVariable Long itemId, @RequestHeader(USER_HEADER) Long userId,
+                                                @RequestParam @DateTimeFormat(iso = DATE_TIME) LocalDateTime from,
+                                                @RequestParam @DateTimeFormat(iso = DATE_TIME) LocalDateTime to) {
+        log.info("ItemController: обработка запроса на получение занятости вещи с id {} с {} по {}", itemId, from, to);
+        return service.findAvailability(userId, itemId, from, to);
     }
 
     @GetMapping
-    public List<ItemResponseDtoWithBookings> findOwnersItems(@RequestHeader(USER_HEADER) Long userId,
-                                                             @RequestParam(defaultValue = "0") int from,
-                                                             @RequestParam(defaultValue = "10") int size) {
+    public ResponseEntity<List<ItemResponseDtoWithBookings>> findOwnersItems(
+            @RequestHeader(USER_HEADER) Long userId,
+            @RequestParam(defaultValue = "0") int from,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String after) {
         log.info("ItemController: обработка запроса на поиск вещей пользователя с id {}", userId);
-        return service.findOwnersItems(userId, from, size);
+        List<ItemResponseDtoWithBookings> items = after == null
+                ? service.findOwnersItems(userId, from, size)
+                : service.findOwnersItemsAfter(userId, after, size);
+        return PageCursor.withNextCursor(items, size, item -> PageCursor.of(item.getId()));
     }
 
     @GetMapping("/search")
-    public List<ItemResponseDto> searchItems(@RequestParam String text,
-                                             @RequestParam(defaultValue = "0") int from,
-                                             @RequestParam(defaultValue = "10") int size) {
+    public ResponseEntity<List<ItemResponseDto>> searchItems(@RequestParam String text,
+                                                             @RequestParam(required = false)
+                                                             @DateTimeFormat(iso = DATE_TIME) LocalDateTime start,
+                                                             @RequestParam(required = false)
+                                                             @DateTimeFormat(iso = DATE_TIME) LocalDateTime end,
+                                                             @RequestParam(defaultValue = "0") int from,
+                                                             @RequestParam(defaultValue = "10") int size,
+                                                             @RequestParam(required = false) String after) {
         log.info("ItemController: обработка запроса на поиск вещей, содержащих в названии или описании фрагмент {}", text);
-        return service.searchItems(text, from, size);
+        List<ItemResponseDto> items = after == null
+                ? service.searchItems(text, start, end, from, size)
+                : service.searchItemsAfter(text, start, end, after, size);
+        if (!service.isSearchCursorSupported()) {
+            return ResponseEntity.ok(items);
+        }
+        return PageCursor.withNextCursor(items, size, item -> PageCursor.of(item.getId()));
     }
 
     @DeleteMapping("/{itemId}")
@@ -1,18 +1,48 @@
 package ru.practicum.shareit.item.repository;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.request.model.ItemRequest;
 
+import javax.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.hibernate.annotations.QueryHints.CACHEABLE;
 
 public interface ItemStorage extends JpaRepository<Item, Long> {
-    Page<Item> findAllByOwnerId(Long ownerId, Pageable pageable);
+    @EntityGraph(attributePaths = {"lastBooking", "nextBooking"})
+    Optional<Item> findWithBookingsById(Long id);
+
+    @EntityGraph(attributePaths = {"lastBooking", "nextBooking"})
+    Slice<Item> findAllByOwnerId(Long ownerId, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"lastBooking", "nextBooking"})
+    List<Item> findAllByOwnerIdAndIdGreaterThan(Long ownerId, Long id, Pageable pageable);
+
+    @Query("select i from Item i " +
+            "join i.nextBooking b " +
+            "where b.startDate <= :now")
+    List<Item> findAllWithStartedNextBooking(@Param("now") LocalDateTime now);
+
+    @Query("select i.owner.id from Item i where i.id = :id")
+    Optional<Long> findOwnerIdById(@Param("id") Long itemId);
+
+    @Query("select i.revision from Item i where i.id = :id")
+    Optional<Long> findRevisionById(@Param("id") Long itemId);
+
+    @Query("select distinct c.item from Comment c where c.author.id = :authorId")
+    List<Item> findAllCommentedBy(@Param("authorId") Long authorId);
 
     @Query(value = "select i.id from items i " +
             "where i.owner_id = :owner " +
@@ -20,12 +50,92 @@ public interface ItemStorage extends JpaRepository<Item, Long> {
     List<Long> findAllOwnersItemsIds(@Param("owner") Long ownerId);
 
     @Query("select i from Item i " +
-            "where upper(i.name) like upper(concat('%', :query, '%')) " +
-            " or upper(i.description) like upper(concat('%', :query, '%'))" +
+            "where (upper(i.name) like upper(concat('%', :query, '%')) " +
+            " or upper(i.description) like upper(concat('%', :query, '%')))" +
             " and i.available = true ")
-    Page<Item> searchItems(@Param("query") String search, Pageable pageable);
+    Slice<Item> searchItems(@Param("query") String search, Pageable pageable);
+
+    @Query("select i from Item i " +
+            "where (upper(i.name) like upper(concat('%', :query, '%')) " +
+            " or upper(i.description) like upper(concat('%', :query, '%')))" +
+            " and i.available = true" +
+            " and not exists (select b.id from Booking b " +
+            "  where b.item = i " +
+            "  and b.status <> ru.practicum.shareit.booking.model.BookingStatus.REJECTED " +
+            "  and b.startDate < :end and b.endDate > :start)")
+    Slice<Item> searchItems(@Param("query") String search, @Param("start") LocalDateTime start,
+                            @Param("end") LocalDateTime end, Pageable pageable);
+
+    @Query(value = "select i.* from items i " +
+            "where i.is_available = true " +
+            " and (setweight(to_tsvector('simple', i.name), 'A') || " +
+            "  setweight(to_tsvector('simple', i.description), 'B')) @@ to_tsquery('simple', :query) " +
+            "order by ts_rank(setweight(to_tsvector('simple', i.name), 'A') || " +
+            "  setweight(to_tsvector('simple', i.description), 'B'), to_tsquery('simple', :query)) desc, i.id",
+            nativeQuery = true)
+    List<Item> searchItemsFullText(@Param("query") String tsQuery, Pageable pageable);
+
+    @Query(value = "select i.* from items i " +
+            "where i.is_available = true " +
+            " and (setweight(to_tsvector('simple', i.name), 'A') || " +
+            "  setweight(to_tsvector('simple', i.description), 'B')) @@ to_tsquery('simple', :query) " +
+            " and not exists (select 1 from bookings b " +
+            "  where b.item_id = i.id " +
+            "  and b.status in ('WAITING', 'APPROVED') " +
+            "  and tsrange(b.start_date, b.end_date) && tsrange(:start, :end)) " +
+            "order by ts_rank(setweight(to_tsvector('simple', i.name), 'A') || " +
+            "  setweight(to_tsvector('simple', i.description), 'B'), to_tsquery('simple', :query)) desc, i.id",
+            nativeQuery = true)
+    List<Item> searchItemsFullText(@Param("query") String tsQuery, @Param("start") LocalDateTime start,
+                                   @Param("end") LocalDateTime end, Pageable pageable);
+
+    @Query(value = "select i.* from items i " +
+            "where (i.name ilike concat('%', :query, '%') " +
+            " or i.description ilike concat('%', :query, '%')) " +
+            " and i.is_available = true " +
+            "order by i.id", nativeQuery = true)
+    List<Item> searchItemsTrigram(@Param("query") String search, Pageable pageable);
+
+    @Query(value = "select i.* from items i " +
+            "where (i.name ilike concat('%', :query, '%') " +
+            " or i.description ilike concat('%', :query, '%')) " +
+            " and i.is_available = true " +
+            " and not exists (select 1 from bookings b " +
+            "  where b.item_id = i.id " +
+            "  and b.status in ('WAITING', 'APPROVED') " +
+            "  and tsrange(b.start_date, b.end_date) && tsrange(:start, :end)) " +
+            "order by i.id", nativeQuery = true)
+    List<Item> searchItemsTrigram(@Param("query") String search, @Param("start") LocalDateTime start,
+                                  @Param("end") LocalDateTime end, Pageable pageable);
+
+    @Query("select i from Item i " +
+            "where (upper(i.name) like upper(concat('%', :query, '%')) " +
+            " or upper(i.description) like upper(concat('%', :query, '%')))" +
+            " and i.available = true " +
+            " and i.id > :id")
+    List<Item> searchItemsAfterCursor(@Param("query") String search, @Param("id") Long id, Pageable pageable);
+
+    @Query("select i from Item i " +
+            "where (upper(i.name) like upper(concat('%', :query, '%')) " +
+            " or upper(i.description) like upper(concat('%', :query, '%')))" +
+            " and i.available = true " +
+            " and i.id > :id" +
+            " and not exists (select b.id from Booking b " +
+            "  where b.item = i " +
+            "  and b.status <> ru.practicum.shareit.booking.model.BookingStatus.REJECTED " +
+            "  and b.startDate < :end and b.endDate > :start)")
+    List<Item> searchItemsAfterCursor(@Param("query") String search, @Param("start") LocalDateTime start,
+                                      @Param("end") LocalDateTime end, @Param("id") Long id, Pageable pageable);
+
+    @Query("select distinct b.item.id from Booking b " +
+            "where b.item.id in :ids " +
+            " and b.status <> ru.practicum.shareit.booking.model.BookingStatus.REJECTED " +
+            " and b.startDate < :end and b.endDate > :start")
+    Set<Long> findBookedItemIds(@Param("ids") Collection<Long> itemIds, @Param("start") LocalDateTime start,
+                                @Param("end") LocalDateTime end);
 
     List<Item> findByItemRequestIn(List<ItemRequest> itemRequests, Sort sort);
 
+    @QueryHints(@QueryHint(name = CACHEABLE, value = "true"))
     List<Item> findByItemRequestId(Long itemRequestId, Sort sort);
 }
\ No newline at end of file
@@ -0,0 +1,202 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemStorage;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.springframework.data.domain.Sort.Direction.ASC;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "memory")
+public class InMemoryItemSearchEngine implements ItemSearchEngine {
+    private static final int NAME_WEIGHT = 2;
+    private static final int DESCRIPTION_WEIGHT = 1;
+    private static final int WARM_UP_BATCH = 1000;
+
+    private final ItemStorage storage;
+    private final NavigableMap<String, Map<Long, Integer>> postings = new TreeMap<>();
+    private final Map<Long, Document> documents = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        PageRequest pageRequest = PageRequest.of(0, WARM_UP_BATCH, Sort.by(ASC, "id"));
+        Slice<Item> slice;
+        do {
+            slice = storage.findAll(pageRequest);
+            slice.forEach(this::put);
+            pageRequest = pageRequest.next();
+        } while (slice.hasNext());
+        log.info("InMemoryItemSearchEngine: проиндексировано {} вещей", documents.size());
+    }
+
+    @Override
+    public List<Item> search(String text, int from, int size) {
+        return page(rank(text), from, size);
+    }
+
+    @Override
+    public List<Item> searchAvailable(String text, LocalDateTime start, LocalDateTime end, int from, int size) {
+        List<Long> ranked = rank(text);
+        if (ranked.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Set<Long> booked = storage.findBookedItemIds(ranked, start, end);
+        return page(ranked.stream()
+                .filter(id -> !booked.contains(id))
+                .collect(Collectors.toList()), from, size);
+    }
+
+    @Override
+    public void index(Item item) {
+        afterCommit(() -> put(item));
+    }
+
+    @Override
+    public void remove(Long itemId) {
+        afterCommit(() -> delete(itemId));
+    }
+
+    private List<Long> rank(String text) {
+        List<String> tokens = ItemSearchTokenizer.tokenize(text);
+        if (tokens.isEmpty()) {
+            return new ArrayList<>();
+        }
+        lock.readLock().lock();
+        try {
+            Map<Long, Double> scores = null;
+            for (String token : tokens) {
+                Map<Long, Double> tokenScores = score(token);
+                if (scores == null) {
+                    scores = tokenScores;
+                } else {
+                    scores.keySet().retainAll(tokenScores.keySet());
+                    scores.replaceAll((id, score) -> score + tokenScores.get(id));
+                }
+                if (scores.isEmpty()) {
+                    return new ArrayList<>();
+                }
+            }
+            return scores.entrySet().stream()
+                    .sorted(Map.Entry.<Long, Double>comparingByValue().reversed()
+                            .thenComparing(Map.Entry.comparingByKey()))
+                    .map(Map.Entry::getKey)
+                    .collect(Collectors.toList());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<Item> page(List<Long> ranked, int from, int size) {
+        List<Long> candidates = new ArrayList<>(ranked);
+        while (true) {
+            List<Long> ids = candidates.stream()
+                    .skip(from)
+                    .limit(size)
+                    .collect(Collectors.toList());
+            if (ids.isEmpty()) {
+                return new ArrayList<>();
+            }
+            Map<Long, Item> items = storage.findAllById(ids).stream()
+                    .collect(Collectors.toMap(Item::getId, Function.identity()));
+            if (items.size() == ids.size()) {
+                return ids.stream()
+                        .map(items::get)
+                        .collect(Collectors.toList());
+            }
+            Set<Long> missing = ids.stream()
+                    .filter(id -> !items.containsKey(id))
+                    .collect(Collectors.toSet());
+            log.warn("InMemoryItemSearchEngine: удаление из индекса отсутствующих в базе вещей {}", missing);
+            missing.forEach(this::delete);
+            candidates.removeAll(missing);
+        }
+    }
+
+    private Map<Long, Double> score(String prefix) {
+        Map<Long, Double> scores = new HashMap<>();
+        for (Map<Long, Integer> tokenPostings : postings.subMap(prefix, true, prefix + Character.MAX_VALUE, false)
+                .values()) {
+            double idf = Math.log(1 + (double) documents.size() / tokenPostings.size());
+            tokenPostings.forEach((id, weight) -> {
+                if (documents.get(id).available) {
+                    scores.merge(id, weight * idf, Double::sum);
+                }
+            });
+        }
+        return scores;
+    }
+
+    private void put(Item item) {
+        Map<String, Integer> weights = new HashMap<>();
+        ItemSearchTokenizer.tokenize(item.getName()).forEach(token -> weights.merge(token, NAME_WEIGHT, Integer::sum));
+        ItemSearchTokenizer.tokenize(item.getDescription())
+                .forEach(token -> weights.merge(token, DESCRIPTION_WEIGHT, Integer::sum));
+        lock.writeLock().lock();
+        try {
+            delete(item.getId());
+            weights.forEach((token, weight) -> postings.computeIfAbsent(token, t -> new HashMap<>())
+                    .put(item.getId(), weight));
+            documents.put(item.getId(), new Document(weights.keySet(), Boolean.TRUE.equals(item.getAvailable())));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void delete(Long itemId) {
+        lock.writeLock().lock();
+        try {
+            Document document = documents.remove(itemId);
+            if (document == null) {
+                return;
+            }
+            for (String token : document.tokens) {
+                Map<Long, Integer> tokenPostings = postings.get(token);
+                tokenPostings.remove(itemId);
+                if (tokenPostings.isEmpty()) {
+                    postings.remove(token);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    @RequiredArgsConstructor
+    private static class Document {
+        private final Set<String> tokens;
+        private final boolean available;
+    }
+}
@@ -0,0 +1,36 @@
+package ru.practicum.shareit.item.search;
+
+import ru.practicum.shareit.exception.exceptions.BadRequestException;
+import ru.practicum.shareit.item.model.Item;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface ItemSearchEngine {
+    List<Item> search(String text, int from, int size);
+
+    List<Item> searchAvailable(String text, LocalDateTime start, LocalDateTime end, int from, int size);
+
+    default boolean supportsCursor() {
+        return false;
+    }
+
+    default List<Item> searchAfter(String text, Long cursor, int size) {
+        throw cursorNotSupported();
+    }
+
+    default List<Item> searchAvailableAfter(String text, LocalDateTime start, LocalDateTime end, Long cursor,
+                                            int size) {
+        throw cursorNotSupported();
+    }
+
+    default void index(Item item) {
+    }
+
+    default void remove(Long itemId) {
+    }
+
+    private static BadRequestException cursorNotSupported() {
+        return new BadRequestException("Поиск по релевантности не поддерживает курсор страницы, используйте from и size");
+    }
+}
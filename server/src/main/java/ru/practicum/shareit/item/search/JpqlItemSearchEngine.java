@@ -0,0 +1,48 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemStorage;
+import ru.practicum.shareit.pagination.FromSizeRequest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.springframework.data.domain.Sort.Direction.ASC;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "jpql", matchIfMissing = true)
+public class JpqlItemSearchEngine implements ItemSearchEngine {
+    private final ItemStorage storage;
+
+    @Override
+    public List<Item> search(String text, int from, int size) {
+        return storage.searchItems(text, FromSizeRequest.of(from, size, Sort.by(ASC, "id"))).getContent();
+    }
+
+    @Override
+    public List<Item> searchAvailable(String text, LocalDateTime start, LocalDateTime end, int from, int size) {
+        return storage.searchItems(text, start, end, FromSizeRequest.of(from, size, Sort.by(ASC, "id"))).getContent();
+    }
+
+    @Override
+    public boolean supportsCursor() {
+        return true;
+    }
+
+    @Override
+    public List<Item> searchAfter(String text, Long cursor, int size) {
+        return storage.searchItemsAfterCursor(text, cursor, PageRequest.of(0, size, Sort.by(ASC, "id")));
+    }
+
+    @Override
+    public List<Item> searchAvailableAfter(String text, LocalDateTime start, LocalDateTime end, Long cursor,
+                                           int size) {
+        return storage.searchItemsAfterCursor(text, start, end, cursor, PageRequest.of(0, size, Sort.by(ASC, "id")));
+    }
+}
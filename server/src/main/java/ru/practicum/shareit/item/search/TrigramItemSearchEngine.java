@@ -0,0 +1,75 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemStorage;
+import ru.practicum.shareit.pagination.FromSizeRequest;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.springframework.data.domain.Sort.Direction.ASC;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "trigram")
+public class TrigramItemSearchEngine implements ItemSearchEngine {
+    private final ItemStorage storage;
+    private final boolean postgres;
+
+    public TrigramItemSearchEngine(ItemStorage storage, DataSource dataSource) throws MetaDataAccessException {
+        this.storage = storage;
+        String database = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+        this.postgres = "PostgreSQL".equals(database);
+        if (!postgres) {
+            log.warn("TrigramItemSearchEngine: база данных {} не поддерживает pg_trgm, используется поиск JPQL",
+                    database);
+        }
+    }
+
+    @Override
+    public List<Item> search(String text, int from, int size) {
+        if (postgres) {
+            return storage.searchItemsTrigram(text, FromSizeRequest.of(from, size));
+        }
+        return storage.searchItems(text, FromSizeRequest.of(from, size, Sort.by(ASC, "id"))).getContent();
+    }
+
+    @Override
+    public List<Item> searchAvailable(String text, LocalDateTime start, LocalDateTime end, int from, int size) {
+        if (postgres) {
+            return storage.searchItemsTrigram(text, start, end, FromSizeRequest.of(from, size));
+        }
+        return storage.searchItems(text, start, end, FromSizeRequest.of(from, size, Sort.by(ASC, "id"))).getContent();
+    }
+
+    @Override
+    public boolean supportsCursor() {
+        return !postgres;
+    }
+
+    @Override
+    public List<Item> searchAfter(String text, Long cursor, int size) {
+        if (postgres) {
+            return ItemSearchEngine.super.searchAfter(text, cursor, size);
+        }
+        return storage.searchItemsAfterCursor(text, cursor, PageRequest.of(0, size, Sort.by(ASC, "id")));
+    }
+
+    @Override
+    public List<Item> searchAvailableAfter(String text, LocalDateTime start, LocalDateTime end, Long cursor,
+                                           int size) {
+        if (postgres) {
+            return ItemSearchEngine.super.searchAvailableAfter(text, start, end, cursor, size);
+        }
+        return storage.searchItemsAfterCursor(text, start, end, cursor, PageRequest.of(0, size, Sort.by(ASC, "id")));
+    }
+}
@@ -1,23 +1,37 @@
 package ru.practicum.shareit.item.service;
 
+import ru.practicum.shareit.batch.BatchResult;
 import ru.practicum.shareit.item.comment.CommentRequestDto;
 import ru.practicum.shareit.item.comment.CommentResponseDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemRequestDto;
 import ru.practicum.shareit.item.dto.ItemResponseDto;
 import ru.practicum.shareit.item.dto.ItemResponseDtoWithBookings;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ItemService {
     ItemResponseDto create(Long userId, ItemRequestDto itemRequestDto);
 
+    List<BatchResult<ItemResponseDto>> createAll(Long userId, List<ItemRequestDto> itemRequestDtos);
+
     ItemResponseDto update(Long userId, Long itemId, ItemRequestDto itemRequestDto);
 
     ItemResponseDtoWithBookings findById(Long itemId, Long requesterId);
 
+    ItemAvailabilityDto findAvailability(Long userId, Long itemId, LocalDateTime from, LocalDateTime to);
+
     List<ItemResponseDtoWithBookings> findOwnersItems(Long userId, int from, int size);
 
-    List<ItemResponseDto> searchItems(String substring, int from, int size);
+    List<ItemResponseDto> searchItems(String substring, LocalDateTime start, LocalDateTime end, int from, int size);
+
+    List<ItemResponseDtoWithBookings> findOwnersItemsAfter(Long userId, String after, int size);
+
+    List<ItemResponseDto> searchItemsAfter(String substring, LocalDateTime start, LocalDateTime end, String after,
+                                           int size);
+
+    boolean isSearchCursorSupported();
 
     CommentResponseDto addComment(Long userId, Long itemId, CommentRequestDto commentRequestDto);
 
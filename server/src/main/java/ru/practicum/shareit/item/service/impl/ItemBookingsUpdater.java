@@ -0,0 +1,47 @@
+package ru.practicum.shareit.item.service.impl;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingStorage;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemStorage;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.springframework.data.domain.Sort.Direction.ASC;
+import static org.springframework.data.domain.Sort.Direction.DESC;
+
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class ItemBookingsUpdater {
+    private final ItemStorage itemStorage;
+    private final BookingStorage bookingStorage;
+
+    @Transactional
+    public void refresh(Item item) {
+        LocalDateTime now = LocalDateTime.now();
+        item.setLastBooking(bookingStorage.findFirstByItemIdAndStatusAndStartDateBefore(
+                item.getId(), BookingStatus.APPROVED, now, Sort.by(DESC, "endDate")).orElse(null));
+        item.setNextBooking(bookingStorage.findFirstByItemIdAndStatusAndStartDateAfter(
+                item.getId(), BookingStatus.APPROVED, now, Sort.by(ASC, "startDate")).orElse(null));
+        itemStorage.save(item);
+    }
+
+    @Transactional
+    @Scheduled(fixedDelayString = "${shareit.items.bookings-roll-forward-ms:60000}")
+    public void rollForward() {
+        List<Item> items = itemStorage.findAllWithStartedNextBooking(LocalDateTime.now());
+        if (items.isEmpty()) {
+            return;
+        }
+        log.info("ItemBookingsUpdater: обновление последнего и следующего бронирования у {} вещей", items.size());
+        items.forEach(this::refresh);
+    }
+}
@@ -7,32 +7,44 @@ import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.dto.BookingMapper;
-import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.interval.BookingIntervalIndex;
+import ru.practicum.shareit.booking.interval.IntervalSet;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.repository.BookingStorage;
+import ru.practicum.shareit.batch.BatchResult;
+import ru.practicum.shareit.cache.EntityTags;
+import ru.practicum.shareit.cache.GuardCache;
 import ru.practicum.shareit.exception.exceptions.BadRequestException;
 import ru.practicum.shareit.exception.exceptions.NotEnoughRightsException;
 import ru.practicum.shareit.exception.exceptions.NotFoundException;
 import ru.practicum.shareit.item.comment.*;
+import ru.practicum.shareit.item.dto.AvailabilityPeriodDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemResponseDto;
 import ru.practicum.shareit.item.dto.ItemResponseDtoWithBookings;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemStorage;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
 import ru.practicum.shareit.item.dto.ItemRequestDto;
 import ru.practicum.shareit.item.dto.ItemMapper;
 import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.pagination.FromSizeRequest;
+import ru.practicum.shareit.pagination.PageCursor;
+import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestStorage;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserStorage;
 
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.util.*;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import static java.util.stream.Collectors.groupingBy;
 import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toSet;
 import static org.springframework.data.domain.Sort.Direction.ASC;
 import static org.springframework.data.domain.Sort.Direction.DESC;
 
@@ -41,11 +53,18 @@ import static org.springframework.data.domain.Sort.Direction.DESC;
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class ItemServiceImpl implements ItemService {
+    private static final long MICROS_PER_SECOND = 1_000_000;
+    private static final int NANOS_PER_MICRO = 1_000;
+
     private final ItemStorage storage;
     private final UserStorage userStorage;
     private final BookingStorage bookingStorage;
     private final CommentStorage commentStorage;
     private final ItemRequestStorage itemRequestStorage;
+    private final ItemSearchEngine searchEngine;
+    private final GuardCache guardCache;
+    private final BookingIntervalIndex intervalIndex;
+    private final EntityTags entityTags;
 
     @Override
     @Transactional
@@ -58,17 +77,57 @@ public class ItemServiceImpl implements ItemService {
                     new NotFoundException(String.format("ItemRequest с id %d не найден", itemRequestDto.getRequestId()))
             ));
         }
-        item.setOwner(userStorage.findById(userId).orElseThrow(() -> new NotFoundException(
-                String.format("Пользователь с id %d не найден", userId))));
-        return ItemMapper.toItemResponseDto(storage.save(item));
+        guardCache.checkUser(userId);
+        item.setOwner(userStorage.getReferenceById(userId));
+        item = storage.save(item);
+        searchEngine.index(item);
+        if (itemRequestDto.getRequestId() != null) {
+            entityTags.touchRequest(itemRequestDto.getRequestId());
+        }
+        return ItemMapper.toItemResponseDto(item);
+    }
+
+    @Override
+    @Transactional
+    public List<BatchResult<ItemResponseDto>> createAll(Long userId, List<ItemRequestDto> itemRequestDtos) {
+        log.info("ItemService: обработка запроса от пользователя {} на добавление {} вещей", userId,
+                itemRequestDtos.size());
+        guardCache.checkUser(userId);
+        User owner = userStorage.getReferenceById(userId);
+        Set<Long> requestIds = itemRequestDtos.stream()
+                .map(ItemRequestDto::getRequestId)
+                .filter(Objects::nonNull)
+                .collect(toSet());
+        Map<Long, ItemRequest> requests = requestIds.isEmpty() ? Collections.emptyMap() : itemRequestStorage.findAllById(requestIds)
+                .stream()
+                .collect(Collectors.toMap(ItemRequest::getId, Function.identity()));
+        List<BatchResult<ItemResponseDto>> results = new ArrayList<>(Collections.nCopies(itemRequestDtos.size(), null));
+        Map<Integer, Item> items = new LinkedHashMap<>();
+        for (int i = 0; i < itemRequestDtos.size(); i++) {
+            ItemRequestDto dto = itemRequestDtos.get(i);
+            if (dto.getName() == null || dto.getDescription() == null || dto.getAvailable() == null) {
+                results.set(i, BatchResult.failed(i, "Название, описание и доступность вещи обязательны"));
+            } else if (dto.getRequestId() != null && !requests.containsKey(dto.getRequestId())) {
+                results.set(i, BatchResult.failed(i, String.format("ItemRequest с id %d не найден",
+                        dto.getRequestId())));
+            } else {
+                Item item = ItemMapper.toItem(dto);
+                item.setOwner(owner);
+                item.setItemRequest(requests.get(dto.getRequestId()));
+                items.put(i, item);
+            }
+        }
+        storage.saveAll(items.values()).forEach(searchEngine::index);
+        entityTags.touchRequests(requests.keySet());
+        items.forEach((i, item) -> results.set(i, BatchResult.ok(i, ItemMapper.toItemResponseDto(item))));
+        return results;
     }
 
     @Override
     @Transactional
     public ItemResponseDto update(Long userId, Long itemId, ItemRequestDto itemRequestDto) {
         log.info("ItemService: обработка запроса на обновление вещи с id {} от пользователя {}", itemId, userId);
-        userStorage.findById(userId).orElseThrow(() -> new NotFoundException(
-                String.format("Пользователь с id %d не найден", userId)));
+        guardCache.checkUser(userId);
         Item item = storage.findById(itemId).orElseThrow(() -> new NotFoundException(
                 String.format("Не удалось найти вещь с id %d", itemId)));
         if (!item.getOwner().getId().equals(userId)) {
@@ -85,16 +144,24 @@ public class ItemServiceImpl implements ItemService {
         if (updatedItem.getAvailable() != null) {
             item.setAvailable(updatedItem.getAvailable());
         }
-        return ItemMapper.toItemResponseDto(storage.save(item));
+        item = storage.save(item);
+        searchEngine.index(item);
+        entityTags.touchItem(itemId);
+        if (item.getItemRequest() != null) {
+            entityTags.touchRequest(item.getItemRequest().getId());
+        }
+        return ItemMapper.toItemResponseDto(item);
     }
 
     @Override
     public ItemResponseDtoWithBookings findById(Long itemId, Long requesterId) {
         log.info("ItemService: обработка запроса на поиск вещи с id {}", itemId);
-        Item item = storage.findById(itemId).orElseThrow(() -> new NotFoundException(
+        Item item = storage.findWithBookingsById(itemId).orElseThrow(() -> new NotFoundException(
                 String.format("Не удалось найти вещь с id %d", itemId)));
         if (item.getOwner().getId().equals(requesterId)) {
-            ItemResponseDtoWithBookings itemDtoWithBookings = setLastAndNextBooking(item);
+            ItemResponseDtoWithBookings itemDtoWithBookings = isActual(item, LocalDateTime.now())
+                    ? setStoredBookings(ItemMapper.toItemResponseDtoWithBookings(item), item)
+                    : setLastAndNextBooking(item);
             itemDtoWithBookings.setComments(CommentMapper.toCommentResponseDtoList(commentStorage.findAllByItemId(itemId)));
             return itemDtoWithBookings;
         }
@@ -104,57 +171,103 @@ public class ItemServiceImpl implements ItemService {
     }
 
     @Override
-    public List<ItemResponseDtoWithBookings> findOwnersItems(Long userId, int from, int size) {
-        log.info("ItemService: обработка запроса на поиск вещей пользователя с id {}", userId);
-        userStorage.findById(userId).orElseThrow(() -> new NotFoundException(
-                String.format("Пользователь с id %d не найден", userId)));
-        PageRequest pageRequest = PageRequest.of((from / size), size, Sort.by(ASC, "id"));
+    public ItemAvailabilityDto findAvailability(Long userId, Long itemId, LocalDateTime from, LocalDateTime to) {
+        log.info("ItemService: обработка запроса на получение занятости вещи с id {} с {} по {}", itemId, from, to);
+        if (!from.isBefore(to)) {
+            throw new BadRequestException("Начало периода должно быть раньше его окончания");
+        }
+        guardCache.checkUser(userId);
+        guardCache.getItemOwnerId(itemId);
+        List<Booking> bookings = bookingStorage.findAllByItemIdAndStatusInAndStartDateBeforeAndEndDateAfter(itemId,
+                List.of(BookingStatus.WAITING, BookingStatus.APPROVED), to, from);
+        long[] starts = new long[bookings.size()];
+        long[] ends = new long[bookings.size()];
+        for (int i = 0; i < bookings.size(); i++) {
+            starts[i] = toEpochMicros(bookings.get(i).getStartDate());
+            ends[i] = toEpochMicros(bookings.get(i).getEndDate());
+        }
+        long fromMicros = toEpochMicrosCeil(from);
+        long toMicros = toEpochMicros(to);
+        IntervalSet busy = IntervalSet.union(starts, ends);
 
-        Map<Long, Item> items = storage.findAllByOwnerId(userId, pageRequest).getContent().stream()
-                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        ItemAvailabilityDto availability = new ItemAvailabilityDto();
+        availability.setItemId(itemId);
+        availability.setFrom(from);
+        availability.setTo(to);
+        availability.setBusy(toPeriods(busy.clip(fromMicros, toMicros)));
+        availability.setFree(toPeriods(busy.complement(fromMicros, toMicros)));
+        return availability;
+    }
 
-        Map<Item, List<Comment>> comments = commentStorage.findByItemIn(new ArrayList<>(items.values()),
-                        Sort.by(DESC, "created"))
-                .stream()
-                .collect(groupingBy(Comment::getItem, toList()));
+    @Override
+    public List<ItemResponseDtoWithBookings> findOwnersItems(Long userId, int from, int size) {
+        log.info("ItemService: обработка запроса на поиск вещей пользователя с id {}", userId);
+        guardCache.checkUser(userId);
+        PageRequest pageRequest = FromSizeRequest.of(from, size, Sort.by(ASC, "id"));
+        return toOwnersItems(storage.findAllByOwnerId(userId, pageRequest).getContent());
+    }
 
-        Map<Item, List<Booking>> bookings = bookingStorage.findAllByItemOwnerId(userId,
-                        Sort.by(DESC, "startDate"))
-                .stream()
-                .collect(groupingBy(Booking::getItem));
+    @Override
+    public List<ItemResponseDtoWithBookings> findOwnersItemsAfter(Long userId, String after, int size) {
+        log.info("ItemService: обработка запроса на поиск вещей пользователя с id {} после курсора {}", userId, after);
+        guardCache.checkUser(userId);
+        PageRequest limit = PageRequest.of(0, size, Sort.by(ASC, "id"));
+        return toOwnersItems(storage.findAllByOwnerIdAndIdGreaterThan(userId, PageCursor.decodeId(after), limit));
+    }
 
-        return new ArrayList<>(items.values()).stream()
-                .map(item -> setItemComments(item, comments))
-                .peek(i -> i.setLastBooking(getLastBooking(bookings.get(items.get(i.getId())))))
-                .peek(i -> i.setNextBooking(getNextBooking(bookings.get(items.get(i.getId())))))
+    @Override
+    public List<ItemResponseDto> searchItems(String text, LocalDateTime start, LocalDateTime end, int from, int size) {
+        log.info("ItemService: обработка запроса на поиск вещей, содержащих в названии или описании фрагмент {}, " +
+                "свободных с {} по {}", text, start, end);
+        if (text.isBlank()) {
+            return new ArrayList<>();
+        }
+        List<Item> items = isPeriodRequested(start, end)
+                ? searchEngine.searchAvailable(text, start, end, from, size)
+                : searchEngine.search(text, from, size);
+        return items.stream()
+                .map(ItemMapper::toItemResponseDto)
                 .collect(toList());
     }
 
     @Override
-    public List<ItemResponseDto> searchItems(String text, int from, int size) {
-        log.info("ItemService: обработка запроса на поиск вещей, содержащих в названии или описании фрагмент {}", text);
+    public List<ItemResponseDto> searchItemsAfter(String text, LocalDateTime start, LocalDateTime end, String after,
+                                                  int size) {
+        log.info("ItemService: обработка запроса на поиск вещей, содержащих фрагмент {}, свободных с {} по {}, " +
+                "после курсора {}", text, start, end, after);
         if (text.isBlank()) {
             return new ArrayList<>();
         }
-        PageRequest pageRequest = PageRequest.of((from / size), size);
-        return storage.searchItems(text, pageRequest).getContent().stream()
+        Long id = PageCursor.decodeId(after);
+        List<Item> items = isPeriodRequested(start, end)
+                ? searchEngine.searchAvailableAfter(text, start, end, id, size)
+                : searchEngine.searchAfter(text, id, size);
+        return items.stream()
                 .map(ItemMapper::toItemResponseDto)
                 .collect(toList());
     }
 
+    @Override
+    public boolean isSearchCursorSupported() {
+        return searchEngine.supportsCursor();
+    }
+
     @Override
     @Transactional
     public void delete(Long userId, Long itemId) {
         log.info("ItemService: обработка запроса на удаление вещи с id {} от пользователя {}", itemId, userId);
-        userStorage.findById(userId).orElseThrow(() -> new NotFoundException(
-                String.format("Пользователь с id %d не найден", userId)));
-        Item item = storage.findById(itemId).orElseThrow(() -> new NotFoundException(
-                String.format("Не удалось найти вещь с id %d", itemId)));
-        if (!item.getOwner().getId().equals(userId)) {
+        guardCache.checkUser(userId);
+        if (!guardCache.getItemOwnerId(itemId).equals(userId)) {
             throw new NotEnoughRightsException(
                     String.format("Пользователь с id %d не является собственником вещи с id %d", userId, itemId));
         }
+        storage.findById(itemId)
+                .map(Item::getItemRequest)
+                .ifPresent(itemRequest -> entityTags.touchRequest(itemRequest.getId()));
         storage.deleteById(itemId);
+        guardCache.evictItem(itemId);
+        intervalIndex.evictItem(itemId);
+        searchEngine.remove(itemId);
     }
 
     @Override
@@ -170,37 +283,115 @@ public class ItemServiceImpl implements ItemService {
         User author = userStorage.findById(userId).orElseThrow(() -> new NotFoundException(
                 String.format("Пользователь с id %d не найден", userId)));
         Comment comment = CommentMapper.toComment(commentRequestDto, author, item);
-        return CommentMapper.toCommentResponseDto(commentStorage.save(comment));
+        comment = commentStorage.save(comment);
+        entityTags.touchItem(itemId);
+        return CommentMapper.toCommentResponseDto(comment);
     }
 
-    private ItemResponseDtoWithBookings setItemComments(Item item, Map<Item, List<Comment>> comments) {
-        if (comments.isEmpty() || comments.get(item) == null) {
-            return ItemMapper.toItemResponseDtoWithBookings(item, CommentMapper.toCommentResponseDtoList(new ArrayList<>()));
+    private List<ItemResponseDtoWithBookings> toOwnersItems(List<Item> page) {
+        if (page.isEmpty()) {
+            return new ArrayList<>();
         }
-        return ItemMapper.toItemResponseDtoWithBookings(item, CommentMapper.toCommentResponseDtoList(comments.get(item)));
+        Map<Long, Item> items = page.stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity(), (a, b) -> a, LinkedHashMap::new));
 
+        Map<Item, List<Comment>> comments = commentStorage.findByItemIn(new ArrayList<>(items.values()),
+                        Sort.by(DESC, "created"))
+                .stream()
+                .collect(groupingBy(Comment::getItem, toList()));
+
+        LocalDateTime now = LocalDateTime.now();
+        Set<Long> staleIds = items.values().stream()
+                .filter(item -> !isActual(item, now))
+                .map(Item::getId)
+                .collect(toSet());
+        Map<Long, List<Booking>> bookings = staleIds.isEmpty() ? Map.of()
+                : bookingStorage.findLastAndNextByItemIds(staleIds, now).stream()
+                .collect(groupingBy(booking -> booking.getItem().getId()));
+
+        List<ItemResponseDtoWithBookings> result = new ArrayList<>();
+        for (Item item : items.values()) {
+            ItemResponseDtoWithBookings itemDto = setItemComments(item, comments);
+            if (staleIds.contains(item.getId())) {
+                setLastAndNextBooking(itemDto, bookings.get(item.getId()), now);
+            } else {
+                setStoredBookings(itemDto, item);
+            }
+            result.add(itemDto);
+        }
+        return result;
+    }
+
+    private boolean isPeriodRequested(LocalDateTime start, LocalDateTime end) {
+        if (start == null && end == null) {
+            return false;
+        }
+        if (start == null || end == null || !start.isBefore(end)) {
+            throw new BadRequestException("Для поиска свободных вещей нужно указать начало и окончание периода, " +
+                    "начало должно быть раньше окончания");
+        }
+        return true;
     }
 
-    private BookingResponseDto getLastBooking(List<Booking> bookings) {
-        if (bookings == null || bookings.isEmpty()) {
-            return null;
+    private List<AvailabilityPeriodDto> toPeriods(IntervalSet intervals) {
+        List<AvailabilityPeriodDto> periods = new ArrayList<>(intervals.size());
+        for (int i = 0; i < intervals.size(); i++) {
+            periods.add(new AvailabilityPeriodDto(
+                    fromEpochMicros(intervals.start(i)),
+                    fromEpochMicros(intervals.end(i))));
         }
+        return periods;
+    }
+
+    private long toEpochMicros(LocalDateTime dateTime) {
+        return Math.addExact(Math.multiplyExact(dateTime.toEpochSecond(ZoneOffset.UTC), MICROS_PER_SECOND),
+                dateTime.getNano() / NANOS_PER_MICRO);
+    }
+
+    private long toEpochMicrosCeil(LocalDateTime dateTime) {
+        long micros = toEpochMicros(dateTime);
+        return dateTime.getNano() % NANOS_PER_MICRO > 0 ? micros + 1 : micros;
+    }
 
-        Optional<Booking> lastBooking = bookings.stream()
-                .filter(booking -> booking.getStartDate().isBefore(LocalDateTime.now()))
-                .max(Comparator.comparing(Booking::getStartDate));
-        return lastBooking.map(BookingMapper::toBookingResponseDto).orElse(null);
+    private LocalDateTime fromEpochMicros(long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, MICROS_PER_SECOND),
+                (int) Math.floorMod(micros, MICROS_PER_SECOND) * NANOS_PER_MICRO, ZoneOffset.UTC);
     }
 
-    private BookingResponseDto getNextBooking(List<Booking> bookings) {
-        if (bookings == null || bookings.isEmpty()) {
-            return null;
+    private boolean isActual(Item item, LocalDateTime now) {
+        return item.getNextBooking() == null || item.getNextBooking().getStartDate().isAfter(now);
+    }
+
+    private ItemResponseDtoWithBookings setStoredBookings(ItemResponseDtoWithBookings itemDto, Item item) {
+        if (item.getLastBooking() != null) {
+            itemDto.setLastBooking(BookingMapper.toBookingResponseDto(item.getLastBooking()));
+        }
+        if (item.getNextBooking() != null) {
+            itemDto.setNextBooking(BookingMapper.toBookingResponseDto(item.getNextBooking()));
         }
+        return itemDto;
+    }
 
-        Optional<Booking> nextBooking = bookings.stream()
-                .filter(booking -> booking.getStartDate().isAfter(LocalDateTime.now()))
-                .min(Comparator.comparing(Booking::getStartDate));
-        return nextBooking.map(BookingMapper::toBookingResponseDto).orElse(null);
+    private ItemResponseDtoWithBookings setItemComments(Item item, Map<Item, List<Comment>> comments) {
+        if (comments.isEmpty() || comments.get(item) == null) {
+            return ItemMapper.toItemResponseDtoWithBookings(item, CommentMapper.toCommentResponseDtoList(new ArrayList<>()));
+        }
+        return ItemMapper.toItemResponseDtoWithBookings(item, CommentMapper.toCommentResponseDtoList(comments.get(item)));
+
+    }
+
+    private void setLastAndNextBooking(ItemResponseDtoWithBookings itemDto, List<Booking> bookings,
+                                       LocalDateTime now) {
+        if (bookings == null) {
+            return;
+        }
+        for (Booking booking : bookings) {
+            if (booking.getStartDate().isBefore(now)) {
+                itemDto.setLastBooking(BookingMapper.toBookingResponseDto(booking));
+            } else {
+                itemDto.setNextBooking(BookingMapper.toBookingResponseDto(booking));
+            }
+        }
     }
 
     private ItemResponseDtoWithBookings setLastAndNextBooking(Item item) {
@@ -213,8 +404,8 @@ public class ItemServiceImpl implements ItemService {
 
         lastBooking.ifPresent(booking -> itemDtoWithBookings.setLastBooking(BookingMapper.toBookingResponseDto(booking)));
 
-        Optional<Booking> nextBooking = bookingStorage.findFirstByItemIdAndStatusNotAndStartDateAfter(
-                item.getId(), BookingStatus.REJECTED, LocalDateTime.now(), Sort.by(ASC, "startDate")
+        Optional<Booking> nextBooking = bookingStorage.findFirstByItemIdAndStatusAndStartDateAfter(
+                item.getId(), BookingStatus.APPROVED, LocalDateTime.now(), Sort.by(ASC, "startDate")
         );
 
         nextBooking.ifPresent(booking -> itemDtoWithBookings.setNextBooking(BookingMapper.toBookingResponseDto(booking)));
@@ -0,0 +1,17 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.boot.actuate.metrics.data.DefaultRepositoryTagsProvider;
+import org.springframework.data.repository.core.support.RepositoryMethodInvocationListener.RepositoryMethodInvocation;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.datasource.ConnectionLeaseTracker;
+
+@Component
+public class EndpointRepositoryTagsProvider extends DefaultRepositoryTagsProvider {
+    @Override
+    public Iterable<Tag> repositoryTags(RepositoryMethodInvocation invocation) {
+        return Tags.of(super.repositoryTags(invocation))
+                .and("endpoint", ConnectionLeaseTracker.currentEndpoint());
+    }
+}
@@ -0,0 +1,32 @@
+package ru.practicum.shareit.metrics;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.internal.StatisticsImpl;
+import org.hibernate.stat.spi.StatisticsFactory;
+import org.hibernate.stat.spi.StatisticsImplementor;
+
+public class RequestStatisticsFactory implements StatisticsFactory {
+    @Override
+    public StatisticsImplementor buildStatistics(SessionFactoryImplementor sessionFactory) {
+        return new StatisticsImpl(sessionFactory) {
+            @Override
+            public void queryExecuted(String hql, int rows, long time) {
+                super.queryExecuted(hql, rows, time);
+                addRows(rows);
+            }
+
+            @Override
+            public void fetchEntity(String entityName) {
+                super.fetchEntity(entityName);
+                addRows(1);
+            }
+
+            private void addRows(long rows) {
+                SqlRequestStats stats = SqlStatementCounter.current();
+                if (stats != null) {
+                    stats.rows(rows);
+                }
+            }
+        };
+    }
+}
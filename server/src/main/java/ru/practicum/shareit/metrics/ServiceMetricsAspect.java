@@ -0,0 +1,58 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.model.State;
+import ru.practicum.shareit.datasource.ConnectionLeaseTracker;
+
+import java.util.Arrays;
+
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class ServiceMetricsAspect {
+    public static final String METRIC = "shareit.method";
+    public static final String NONE = "none";
+
+    private final MeterRegistry registry;
+
+    @Around("execution(public * ru.practicum.shareit..service.*Service+.*(..))")
+    public Object time(ProceedingJoinPoint point) throws Throwable {
+        MethodSignature signature = (MethodSignature) point.getSignature();
+        Tags tags = Tags.of(
+                "class", signature.getDeclaringType().getSimpleName(),
+                "method", signature.getName(),
+                "endpoint", ConnectionLeaseTracker.currentEndpoint(),
+                "state", state(signature.getParameterNames(), point.getArgs()));
+        Timer.Sample sample = Timer.start(registry);
+        try {
+            Object result = point.proceed();
+            sample.stop(registry.timer(METRIC, tags.and("outcome", "SUCCESS", "exception", NONE)));
+            return result;
+        } catch (Throwable e) {
+            sample.stop(registry.timer(METRIC, tags.and("outcome", "ERROR",
+                    "exception", e.getClass().getSimpleName())));
+            throw e;
+        }
+    }
+
+    private static String state(String[] names, Object[] args) {
+        if (names == null) {
+            return NONE;
+        }
+        for (int i = 0; i < names.length; i++) {
+            if (names[i].startsWith("state") && args[i] instanceof String) {
+                String state = (String) args[i];
+                return Arrays.stream(State.values()).anyMatch(value -> value.name().equals(state)) ? state : "UNKNOWN";
+            }
+        }
+        return NONE;
+    }
+}
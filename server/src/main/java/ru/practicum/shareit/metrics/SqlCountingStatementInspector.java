@@ -0,0 +1,14 @@
+package ru.practicum.shareit.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+public class SqlCountingStatementInspector implements StatementInspector {
+    @Override
+    public String inspect(String sql) {
+        SqlRequestStats stats = SqlStatementCounter.current();
+        if (stats != null) {
+            stats.statement(sql.stripLeading().regionMatches(true, 0, "select", 0, 6));
+        }
+        return sql;
+    }
+}
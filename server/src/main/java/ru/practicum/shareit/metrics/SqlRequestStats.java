@@ -0,0 +1,30 @@
+package ru.practicum.shareit.metrics;
+
+import lombok.Getter;
+
+@Getter
+public class SqlRequestStats {
+    private long statements;
+    private long selects;
+    private long rows;
+    private long jdbcNanos;
+
+    void statement(boolean select) {
+        statements++;
+        if (select) {
+            selects++;
+        }
+    }
+
+    void rows(long count) {
+        rows += count;
+    }
+
+    void jdbcTime(long nanos) {
+        jdbcNanos += nanos;
+    }
+
+    public double getJdbcMillis() {
+        return jdbcNanos / 1_000_000.0;
+    }
+}
@@ -0,0 +1,96 @@
+package ru.practicum.shareit.metrics;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Locale;
+
+@Slf4j
+@Component
+public class SqlStatementCountFilter extends OncePerRequestFilter {
+    public static final String SQL_COUNT_HEADER = "X-SQL-Count";
+    public static final String SERVER_TIMING_HEADER = "Server-Timing";
+
+    private final long selectWarnThreshold;
+
+    public SqlStatementCountFilter(@Value("${shareit.sql.select-warn-threshold:20}") long selectWarnThreshold) {
+        this.selectWarnThreshold = selectWarnThreshold;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        SqlRequestStats stats = SqlStatementCounter.begin();
+        StatsResponse statsResponse = new StatsResponse(response, stats);
+        try {
+            chain.doFilter(request, statsResponse);
+        } finally {
+            SqlStatementCounter.end();
+            statsResponse.writeHeaders();
+            if (stats.getSelects() > selectWarnThreshold) {
+                log.warn("SqlStatementCountFilter: запрос {} {} выполнил {} select-запросов, возможна проблема N+1",
+                        request.getMethod(), request.getRequestURI(), stats.getSelects());
+            }
+        }
+    }
+
+    private static class StatsResponse extends HttpServletResponseWrapper {
+        private final SqlRequestStats stats;
+        private boolean written;
+
+        StatsResponse(HttpServletResponse response, SqlRequestStats stats) {
+            super(response);
+            this.stats = stats;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            writeHeaders();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            writeHeaders();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            writeHeaders();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            writeHeaders();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            writeHeaders();
+            super.sendError(sc, msg);
+        }
+
+        void writeHeaders() {
+            if (written || isCommitted()) {
+                return;
+            }
+            written = true;
+            setHeader(SQL_COUNT_HEADER, String.valueOf(stats.getStatements()));
+            addHeader(SERVER_TIMING_HEADER, String.format(Locale.ROOT, "db;dur=%.3f;desc=\"%d statements, %d rows\"",
+                    stats.getJdbcMillis(), stats.getStatements(), stats.getRows()));
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package ru.practicum.shareit.pagination;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+@Slf4j
+@Component
+public class ApproximateCountCache {
+    private final long ttlMillis;
+    private final int maxSize;
+    private final Map<String, CachedCount> counts = new ConcurrentHashMap<>();
+
+    public ApproximateCountCache(@Value("${shareit.pagination.count-cache.ttl-seconds:60}") long ttlSeconds,
+                                 @Value("${shareit.pagination.count-cache.max-size:10000}") int maxSize) {
+        this.ttlMillis = ttlSeconds * 1000;
+        this.maxSize = maxSize;
+    }
+
+    public long get(String key, LongSupplier counter) {
+        long now = System.currentTimeMillis();
+        CachedCount cached = counts.get(key);
+        if (cached != null && cached.expiresAt > now) {
+            return cached.count;
+        }
+        log.info("ApproximateCountCache: пересчёт количества записей для ключа {}", key);
+        long count = counter.getAsLong();
+        if (counts.size() >= maxSize) {
+            counts.values().removeIf(entry -> entry.expiresAt <= now);
+            if (counts.size() >= maxSize) {
+                counts.clear();
+            }
+        }
+        counts.put(key, new CachedCount(count, now + ttlMillis));
+        return count;
+    }
+
+    private static class CachedCount {
+        private final long count;
+        private final long expiresAt;
+
+        private CachedCount(long count, long expiresAt) {
+            this.count = count;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package ru.practicum.shareit.pagination;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+public class FromSizeRequest extends PageRequest {
+    private final int from;
+
+    protected FromSizeRequest(int from, int size, Sort sort) {
+        super(from / size, size, sort);
+        this.from = from;
+    }
+
+    public static FromSizeRequest of(int from, int size) {
+        return new FromSizeRequest(from, size, Sort.unsorted());
+    }
+
+    public static FromSizeRequest of(int from, int size, Sort sort) {
+        return new FromSizeRequest(from, size, sort);
+    }
+
+    @Override
+    public long getOffset() {
+        return from;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof FromSizeRequest)) return false;
+        return super.equals(o) && from == ((FromSizeRequest) o).from;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * super.hashCode() + from;
+    }
+}
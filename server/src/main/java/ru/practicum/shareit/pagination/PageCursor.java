@@ -0,0 +1,83 @@
+package ru.practicum.shareit.pagination;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import ru.practicum.shareit.exception.exceptions.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+import static ru.practicum.shareit.Constant.NEXT_CURSOR_HEADER;
+
+@Getter
+@RequiredArgsConstructor
+public class PageCursor {
+    private static final String SEPARATOR = "|";
+    private final LocalDateTime timestamp;
+    private final Long id;
+
+    public static PageCursor of(Long id) {
+        return new PageCursor(null, id);
+    }
+
+    public static PageCursor of(LocalDateTime timestamp, Long id) {
+        return new PageCursor(timestamp, id);
+    }
+
+    public String encode() {
+        String raw = timestamp == null ? String.valueOf(id) : timestamp + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static PageCursor decode(String token) {
+        PageCursor cursor = parse(token);
+        if (cursor.getTimestamp() == null) {
+            throw invalid(token);
+        }
+        return cursor;
+    }
+
+    public static Long decodeId(String token) {
+        PageCursor cursor = parse(token);
+        if (cursor.getTimestamp() != null) {
+            throw invalid(token);
+        }
+        return cursor.getId();
+    }
+
+    public static <T> ResponseEntity<List<T>> withNextCursor(List<T> page, int size, Function<T, PageCursor> cursorOf) {
+        return ResponseEntity.ok().headers(nextCursorHeaders(page, size, cursorOf)).body(page);
+    }
+
+    public static <T> HttpHeaders nextCursorHeaders(List<T> page, int size, Function<T, PageCursor> cursorOf) {
+        HttpHeaders headers = new HttpHeaders();
+        if (!page.isEmpty() && page.size() >= size) {
+            headers.set(NEXT_CURSOR_HEADER, cursorOf.apply(page.get(page.size() - 1)).encode());
+        }
+        return headers;
+    }
+
+    private static PageCursor parse(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            if (separator < 0) {
+                return new PageCursor(null, Long.parseLong(raw));
+            }
+            return new PageCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw invalid(token);
+        }
+    }
+
+    private static BadRequestException invalid(String token) {
+        return new BadRequestException(String.format("Некорректный курсор страницы: %s", token));
+    }
+}
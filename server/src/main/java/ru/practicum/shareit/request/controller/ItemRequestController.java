@@ -2,7 +2,11 @@ package ru.practicum.shareit.request.controller;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import ru.practicum.shareit.cache.EntityTags;
+import ru.practicum.shareit.pagination.PageCursor;
 import ru.practicum.shareit.request.dto.ItemRequestRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestResponseDto;
 import ru.practicum.shareit.request.service.ItemRequestService;
@@ -17,6 +21,7 @@ import static ru.practicum.shareit.Constant.USER_HEADER;
 @Slf4j
 public class ItemRequestController {
     private final ItemRequestService service;
+    private final EntityTags entityTags;
 
     @PostMapping
     public ItemRequestResponseDto create(@RequestBody ItemRequestRequestDto itemRequestRequestDto,
@@ -32,17 +37,27 @@ public class ItemRequestController {
     }
 
     @GetMapping("/all")
-    public List<ItemRequestResponseDto> findAll(@RequestParam(defaultValue = "0") int from,
-                                                @RequestParam(defaultValue = "10") int size,
-                                                @RequestHeader(USER_HEADER) Long userId) {
+    public ResponseEntity<List<ItemRequestResponseDto>> findAll(@RequestParam(defaultValue = "0") int from,
+                                                                @RequestParam(defaultValue = "10") int size,
+                                                                @RequestParam(required = false) String after,
+                                                                @RequestHeader(USER_HEADER) Long userId) {
         log.info("ItemRequestController: обработка запроса на поиск всех ItemRequest от пользователя {}", userId);
-        return service.findAllRequests(userId, from, size);
+        List<ItemRequestResponseDto> requests = after == null
+                ? service.findAllRequests(userId, from, size)
+                : service.findAllRequestsAfter(userId, after, size);
+        return PageCursor.withNextCursor(requests, size,
+                request -> PageCursor.of(request.getCreated(), request.getId()));
     }
 
     @GetMapping("/{requestId}")
-    public ItemRequestResponseDto findById(@PathVariable Long requestId, @RequestHeader(USER_HEADER) Long userId) {
+    public ItemRequestResponseDto findById(@PathVariable Long requestId, @RequestHeader(USER_HEADER) Long userId,
+                                           WebRequest request) {
         log.info("ItemRequestController: обработка запроса на поиск ItemRequest с id {} от пользователя {}",
                 requestId, userId);
+        String tag = entityTags.requestTag(requestId, userId);
+        if (tag != null && request.checkNotModified(tag)) {
+            return null;
+        }
         return service.findById(userId, requestId);
     }
 }
\ No newline at end of file
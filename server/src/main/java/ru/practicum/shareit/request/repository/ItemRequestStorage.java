@@ -1,15 +1,37 @@
 package ru.practicum.shareit.request.repository;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import ru.practicum.shareit.request.model.ItemRequest;
 
+import javax.persistence.QueryHint;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+
+import static org.hibernate.annotations.QueryHints.CACHEABLE;
 
 public interface ItemRequestStorage extends JpaRepository<ItemRequest, Long> {
+    @QueryHints(@QueryHint(name = CACHEABLE, value = "true"))
     List<ItemRequest> findAllByAuthorId(Long authorId, Sort sort);
 
-    Page<ItemRequest> findAllByAuthorIdNot(Long authorId, Pageable pageable);
+    Slice<ItemRequest> findAllByAuthorIdNot(Long authorId, Pageable pageable);
+
+    @Query("select r from ItemRequest r " +
+            "where r.author.id <> :authorId " +
+            "and (r.created < :created or (r.created = :created and r.id < :id))")
+    List<ItemRequest> findAllByAuthorIdNotAfterCursor(@Param("authorId") Long authorId,
+                                                      @Param("created") LocalDateTime created,
+                                                      @Param("id") Long id, Pageable pageable);
+
+    @Query("select r.revision from ItemRequest r where r.id = :id")
+    Optional<Long> findRevisionById(@Param("id") Long itemRequestId);
+
+    @Query("select distinct i.itemRequest from Item i where i.owner.id = :ownerId")
+    List<ItemRequest> findAllAnsweredBy(@Param("ownerId") Long ownerId);
 }
@@ -12,5 +12,7 @@ public interface ItemRequestService {
 
     List<ItemRequestResponseDto> findAllRequests(Long userId, int from, int size);
 
+    List<ItemRequestResponseDto> findAllRequestsAfter(Long userId, String after, int size);
+
     ItemRequestResponseDto findById(Long userId, Long itemRequestId);
 }
@@ -6,11 +6,14 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.cache.GuardCache;
 import ru.practicum.shareit.exception.exceptions.NotFoundException;
 import ru.practicum.shareit.item.dto.ItemMapper;
 import ru.practicum.shareit.item.dto.ItemResponseDto;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemStorage;
+import ru.practicum.shareit.pagination.FromSizeRequest;
+import ru.practicum.shareit.pagination.PageCursor;
 import ru.practicum.shareit.request.dto.ItemRequestRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestMapper;
 import ru.practicum.shareit.request.dto.ItemRequestResponseDto;
@@ -37,6 +40,8 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     private final ItemRequestStorage storage;
     private final UserStorage userStorage;
     private final ItemStorage itemStorage;
+    private final GuardCache guardCache;
+    private final Sort sortCreatedDesc = Sort.by(DESC, "created").and(Sort.by(DESC, "id"));
 
     @Override
     @Transactional
@@ -66,14 +71,19 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     public List<ItemRequestResponseDto> findAllRequests(Long userId, int from, int size) {
         log.info("ItemRequestService: обработка запроса от пользователя {} на поиск всех ItemRequest", userId);
         checkUser(userId);
-        PageRequest pageRequest = PageRequest.of((from / size), size, Sort.by(DESC, "created"));
-        List<ItemRequest> responseDtoList = storage.findAllByAuthorIdNot(userId, pageRequest).getContent();
-        Map<ItemRequest, List<Item>> itemsMap = itemStorage.findByItemRequestIn(responseDtoList, Sort.by(ASC, "id"))
-                .stream()
-                .collect(groupingBy(Item::getItemRequest, toList()));
-        return responseDtoList.stream()
-                .map(itemRequest -> setItemRequestItems(itemRequest, itemsMap.get(itemRequest)))
-                .collect(toList());
+        PageRequest pageRequest = FromSizeRequest.of(from, size, sortCreatedDesc);
+        return setItemRequestsItems(storage.findAllByAuthorIdNot(userId, pageRequest).getContent());
+    }
+
+    @Override
+    public List<ItemRequestResponseDto> findAllRequestsAfter(Long userId, String after, int size) {
+        log.info("ItemRequestService: обработка запроса от пользователя {} на поиск всех ItemRequest после курсора {}",
+                userId, after);
+        checkUser(userId);
+        PageCursor cursor = PageCursor.decode(after);
+        PageRequest limit = PageRequest.of(0, size, sortCreatedDesc);
+        return setItemRequestsItems(storage.findAllByAuthorIdNotAfterCursor(userId, cursor.getTimestamp(),
+                cursor.getId(), limit));
     }
 
     @Override
@@ -88,6 +98,15 @@ public class ItemRequestServiceImpl implements ItemRequestService {
         return setItemRequestItems(itemRequest, itemList);
     }
 
+    private List<ItemRequestResponseDto> setItemRequestsItems(List<ItemRequest> itemRequests) {
+        Map<ItemRequest, List<Item>> itemsMap = itemStorage.findByItemRequestIn(itemRequests, Sort.by(ASC, "id"))
+                .stream()
+                .collect(groupingBy(Item::getItemRequest, toList()));
+        return itemRequests.stream()
+                .map(itemRequest -> setItemRequestItems(itemRequest, itemsMap.get(itemRequest)))
+                .collect(toList());
+    }
+
     private ItemRequestResponseDto setItemRequestItems(ItemRequest itemRequest, List<Item> items) {
         log.info("ItemRequestService: конвертация ItemRequest c id {} в Dto и добавление вещей, добавленных по запросу",
                 itemRequest.getId());
@@ -104,7 +123,6 @@ public class ItemRequestServiceImpl implements ItemRequestService {
 
     private void checkUser(Long userId) {
         log.info("ItemRequestService: проверка регистрации пользователя {}", userId);
-        userStorage.findById(userId).orElseThrow(() -> new NotFoundException(
-                String.format("Пользователь с id %d не найден", userId)));
+        guardCache.checkUser(userId);
     }
 }
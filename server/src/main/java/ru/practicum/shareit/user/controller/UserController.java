@@ -3,6 +3,9 @@ package ru.practicum.shareit.user.controller;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import ru.practicum.shareit.batch.BatchResult;
+import ru.practicum.shareit.cache.EntityTags;
 import ru.practicum.shareit.user.dto.UserRequestDto;
 import ru.practicum.shareit.user.dto.UserResponseDto;
 import ru.practicum.shareit.user.service.UserService;
@@ -16,6 +19,7 @@ import java.util.List;
 public class UserController {
 
     private final UserService service;
+    private final EntityTags entityTags;
 
     @GetMapping
     public List<UserResponseDto> findAll() {
@@ -24,8 +28,12 @@ public class UserController {
     }
 
     @GetMapping("/{userId}")
-    public UserResponseDto findById(@PathVariable Long userId) {
+    public UserResponseDto findById(@PathVariable Long userId, WebRequest request) {
         log.info("UserController: обработка запроса на получение пользователя с id {}", userId);
+        String tag = entityTags.userTag(userId);
+        if (tag != null && request.checkNotModified(tag)) {
+            return null;
+        }
         return service.findById(userId);
     }
 
@@ -35,6 +43,12 @@ public class UserController {
         return service.create(userRequestDto);
     }
 
+    @PostMapping("/batch")
+    public List<BatchResult<UserResponseDto>> createAll(@RequestBody List<UserRequestDto> userRequestDtos) {
+        log.info("UserController: обработка запроса на создание {} пользователей", userRequestDtos.size());
+        return service.createAll(userRequestDtos);
+    }
+
     @PatchMapping("/{userId}")
     public UserResponseDto update(@RequestBody UserRequestDto userRequestDto, @PathVariable Long userId) {
         log.info("UserController: обработка запроса на обновление пользователя с id {}", userId);
@@ -1,7 +1,18 @@
 package ru.practicum.shareit.user.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import ru.practicum.shareit.user.model.User;
 
+import java.util.Collection;
+import java.util.Optional;
+import java.util.Set;
+
 public interface UserStorage extends JpaRepository<User, Long> {
-}
\ No newline at end of file
+    @Query("select u.email from User u where u.email in :emails")
+    Set<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    @Query("select u.revision from User u where u.id = :id")
+    Optional<Long> findRevisionById(@Param("id") Long userId);
+}
@@ -1,5 +1,6 @@
 package ru.practicum.shareit.user.service;
 
+import ru.practicum.shareit.batch.BatchResult;
 import ru.practicum.shareit.user.dto.UserRequestDto;
 import ru.practicum.shareit.user.dto.UserResponseDto;
 
@@ -12,6 +13,8 @@ public interface UserService {
 
     UserResponseDto create(UserRequestDto userCreationDto);
 
+    List<BatchResult<UserResponseDto>> createAll(List<UserRequestDto> userCreationDtos);
+
     UserResponseDto update(UserRequestDto userRequestDto, Long userId);
 
     void delete(Long userId);
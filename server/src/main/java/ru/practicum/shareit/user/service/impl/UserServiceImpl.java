@@ -4,7 +4,14 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.batch.BatchResult;
+import ru.practicum.shareit.booking.interval.BookingIntervalIndex;
+import ru.practicum.shareit.cache.EntityTags;
+import ru.practicum.shareit.cache.GuardCache;
+import ru.practicum.shareit.cache.SecondLevelCache;
 import ru.practicum.shareit.exception.exceptions.NotFoundException;
+import ru.practicum.shareit.item.repository.ItemStorage;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
 import ru.practicum.shareit.user.dto.UserResponseDto;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserStorage;
@@ -12,7 +19,7 @@ import ru.practicum.shareit.user.dto.UserRequestDto;
 import ru.practicum.shareit.user.dto.UserMapper;
 import ru.practicum.shareit.user.service.UserService;
 
-import java.util.List;
+import java.util.*;
 import java.util.stream.Collectors;
 
 @Service
@@ -21,6 +28,12 @@ import java.util.stream.Collectors;
 @Transactional(readOnly = true)
 public class UserServiceImpl implements UserService {
     private final UserStorage storage;
+    private final ItemStorage itemStorage;
+    private final ItemSearchEngine searchEngine;
+    private final GuardCache guardCache;
+    private final BookingIntervalIndex intervalIndex;
+    private final EntityTags entityTags;
+    private final SecondLevelCache secondLevelCache;
 
     @Override
     public List<UserResponseDto> findAll() {
@@ -44,6 +57,33 @@ public class UserServiceImpl implements UserService {
         return UserMapper.toUserResponseDto(storage.save(UserMapper.toUser(userCreationDto)));
     }
 
+    @Override
+    @Transactional
+    public List<BatchResult<UserResponseDto>> createAll(List<UserRequestDto> userCreationDtos) {
+        log.info("UserService: Происходит обработка запроса на создание {} пользователей", userCreationDtos.size());
+        Set<String> emails = userCreationDtos.stream()
+                .map(UserRequestDto::getEmail)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Set<String> takenEmails = emails.isEmpty() ? new HashSet<>() : new HashSet<>(storage.findExistingEmails(emails));
+        List<BatchResult<UserResponseDto>> results = new ArrayList<>(Collections.nCopies(userCreationDtos.size(), null));
+        Map<Integer, User> users = new LinkedHashMap<>();
+        for (int i = 0; i < userCreationDtos.size(); i++) {
+            UserRequestDto dto = userCreationDtos.get(i);
+            if (dto.getName() == null || dto.getEmail() == null) {
+                results.set(i, BatchResult.failed(i, "Имя и email пользователя обязательны"));
+            } else if (!takenEmails.add(dto.getEmail())) {
+                results.set(i, BatchResult.failed(i, String.format("Пользователь с email %s уже существует",
+                        dto.getEmail())));
+            } else {
+                users.put(i, UserMapper.toUser(dto));
+            }
+        }
+        storage.saveAll(users.values());
+        users.forEach((i, user) -> results.set(i, BatchResult.ok(i, UserMapper.toUserResponseDto(user))));
+        return results;
+    }
+
     @Override
     @Transactional
     public UserResponseDto update(UserRequestDto userRequestDto, Long userId) {
@@ -59,6 +99,11 @@ public class UserServiceImpl implements UserService {
             user.setEmail(updatedUser.getEmail());
         }
         storage.save(user);
+        guardCache.evictUser(userId);
+        entityTags.touchUser(userId);
+        if (updatedUser.getName() != null) {
+            entityTags.touchCommentAuthor(userId);
+        }
         return UserMapper.toUserResponseDto(user);
     }
 
@@ -66,6 +111,11 @@ public class UserServiceImpl implements UserService {
     @Transactional
     public void delete(Long userId) {
         log.info("UserService: Происходит обработка запроса на удаление пользователя с id {}", userId);
+        entityTags.touchDeletedUser(userId);
+        intervalIndex.evictUserItemsAfterCommit(userId);
+        itemStorage.findAllOwnersItemsIds(userId).forEach(searchEngine::remove);
         storage.deleteById(userId);
+        guardCache.evictUser(userId);
+        secondLevelCache.evictItemsAfterCommit();
     }
 }
\ No newline at end of file
@@ -1,5 +1,3 @@
-DROP TABLE IF EXISTS users, items, bookings, comments, requests;
-
 CREATE TABLE IF NOT EXISTS users (
   id BIGINT GENERATED BY DEFAULT AS IDENTITY,
   name VARCHAR(255) NOT NULL,
@@ -23,6 +21,8 @@ description VARCHAR(512) NOT NULL,
 is_available BOOLEAN NOT NULL,
 owner_id BIGINT NOT NULL REFERENCES users (id) ON DELETE CASCADE,
 request_id BIGINT REFERENCES requests (id) ON DELETE CASCADE,
+last_booking_id BIGINT,
+next_booking_id BIGINT,
 CONSTRAINT pk_item PRIMARY KEY (id)
 );
 
@@ -36,6 +36,12 @@ status VARCHAR(50) NOT NULL,
 CONSTRAINT pk_booking PRIMARY KEY (id)
 );
 
+ALTER TABLE items ADD CONSTRAINT fk_item_last_booking
+FOREIGN KEY (last_booking_id) REFERENCES bookings (id) ON DELETE SET NULL;
+
+ALTER TABLE items ADD CONSTRAINT fk_item_next_booking
+FOREIGN KEY (next_booking_id) REFERENCES bookings (id) ON DELETE SET NULL;
+
 CREATE TABLE IF NOT EXISTS comments (
 id BIGINT GENERATED BY DEFAULT AS IDENTITY,
 text VARCHAR(512) NOT NULL,
@@ -43,4 +49,4 @@ item_id BIGINT REFERENCES items (id) ON DELETE CASCADE,
 author_id BIGINT REFERENCES users (id) ON DELETE CASCADE,
 created TIMESTAMP WITHOUT TIME ZONE NOT NULL,
 CONSTRAINT pk_comment PRIMARY KEY (id)
-);
\ No newline at end of file
+);
@@ -0,0 +1,21 @@
+CREATE INDEX IF NOT EXISTS ix_bookings_booker_start ON bookings (booker_id, start_date DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS ix_bookings_booker_status_start ON bookings (booker_id, status, start_date DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS ix_bookings_item_start ON bookings (item_id, start_date DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS ix_bookings_item_status_start ON bookings (item_id, status, start_date);
+
+CREATE INDEX IF NOT EXISTS ix_bookings_item_booker_status_end ON bookings (item_id, booker_id, status, end_date);
+
+CREATE INDEX IF NOT EXISTS ix_items_owner ON items (owner_id, id);
+
+CREATE INDEX IF NOT EXISTS ix_items_request ON items (request_id);
+
+CREATE INDEX IF NOT EXISTS ix_items_next_booking ON items (next_booking_id);
+
+CREATE INDEX IF NOT EXISTS ix_comments_item_created ON comments (item_id, created DESC);
+
+CREATE INDEX IF NOT EXISTS ix_requests_author_created ON requests (author_id, created DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS ix_requests_created ON requests (created DESC, id DESC);
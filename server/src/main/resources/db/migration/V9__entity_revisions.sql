@@ -0,0 +1,5 @@
+ALTER TABLE users ADD COLUMN revision BIGINT DEFAULT 0 NOT NULL;
+
+ALTER TABLE items ADD COLUMN revision BIGINT DEFAULT 0 NOT NULL;
+
+ALTER TABLE requests ADD COLUMN revision BIGINT DEFAULT 0 NOT NULL;
@@ -0,0 +1,82 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+@SpringBootTest
+@Testcontainers(disabledWithoutDocker = true)
+public class QueryPlanTest {
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:14-alpine");
+
+    @Autowired
+    private DataSource dataSource;
+
+    @DynamicPropertySource
+    static void postgresProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.driverClassName", POSTGRES::getDriverClassName);
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "select * from bookings where booker_id = 1 order by start_date desc, id desc limit 20",
+            "select * from bookings where booker_id = 1 and status = 'WAITING' " +
+                    "order by start_date desc, id desc limit 20",
+            "select * from bookings where booker_id = 1 and end_date < now() " +
+                    "order by start_date desc, id desc limit 20",
+            "select b.* from bookings b join items i on i.id = b.item_id where i.owner_id = 1 " +
+                    "order by b.start_date desc, b.id desc limit 20",
+            "select * from bookings where item_id = 1 and status = 'APPROVED' and start_date < now() " +
+                    "order by end_date desc limit 1",
+            "select * from bookings where item_id = 1 and status <> 'REJECTED' and start_date > now() " +
+                    "order by start_date limit 1",
+            "select * from bookings where item_id = 1 and booker_id = 1 and status = 'APPROVED' " +
+                    "and end_date < now() limit 1",
+            "select * from items where owner_id = 1 order by id limit 20",
+            "select * from items where request_id in (1, 2, 3)",
+            "select * from comments where item_id in (1, 2, 3) order by created desc",
+            "select * from requests where author_id = 1 order by created desc, id desc",
+            "select * from requests where author_id <> 1 order by created desc, id desc limit 20",
+            "select * from items where is_available = true and (setweight(to_tsvector('simple', name), 'A') || " +
+                    "setweight(to_tsvector('simple', description), 'B')) @@ to_tsquery('simple', 'drill:*')",
+            "select * from items where (name ilike '%drill%' or description ilike '%drill%') " +
+                    "and is_available = true order by id",
+            "select * from items i where (i.name ilike '%drill%' or i.description ilike '%drill%') " +
+                    "and i.is_available = true and not exists (select 1 from bookings b where b.item_id = i.id " +
+                    "and b.status in ('WAITING', 'APPROVED') " +
+                    "and tsrange(b.start_date, b.end_date) && tsrange(now()::timestamp, now()::timestamp + interval '2 days')) " +
+                    "order by i.id",
+            "select * from bookings where item_id = 1 and start_date < now() + interval '2 days' and end_date > now()"
+    })
+    void testHotQueriesUseIndexes(String query) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("SET enable_seqscan = off");
+            StringBuilder plan = new StringBuilder();
+            try (ResultSet resultSet = statement.executeQuery("EXPLAIN " + query)) {
+                while (resultSet.next()) {
+                    plan.append(resultSet.getString(1)).append('\n');
+                }
+            }
+            assertFalse(plan.toString().contains("Seq Scan"), plan.toString());
+        }
+    }
+}
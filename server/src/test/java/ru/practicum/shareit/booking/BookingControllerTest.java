@@ -11,6 +11,7 @@ import ru.practicum.shareit.booking.controller.BookingController;
 import ru.practicum.shareit.booking.dto.BookingDtoWithItemAndUser;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.pagination.PageCursor;
 
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
@@ -21,8 +22,10 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ru.practicum.shareit.Constant.NEXT_CURSOR_HEADER;
 import static ru.practicum.shareit.Constant.USER_HEADER;
 import static ru.practicum.shareit.booking.model.BookingStatus.APPROVED;
 
@@ -113,4 +116,24 @@ public class BookingControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$[0].id", is(bookingDto.getId()), Long.class));
     }
+
+    @Test
+    void testFindBookersBookingsAfterCursor() throws Exception {
+        BookingDtoWithItemAndUser bookingDto = new BookingDtoWithItemAndUser();
+        bookingDto.setId(1L);
+        bookingDto.setStart(LocalDateTime.of(2030, 1, 1, 12, 0));
+        String after = PageCursor.of(LocalDateTime.of(2030, 1, 2, 12, 0), 2L).encode();
+        when(bookingService.findAllByUserAndStateAfter(anyLong(), anyString(), eq(after), anyInt()))
+                .thenReturn(List.of(bookingDto));
+        mvc.perform(get("/bookings")
+                        .header(USER_HEADER, 1)
+                        .param("after", after)
+                        .param("size", "1")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string(NEXT_CURSOR_HEADER, PageCursor.of(bookingDto.getStart(), 1L).encode()))
+                .andExpect(jsonPath("$[0].id", is(1L), Long.class));
+    }
 }
@@ -0,0 +1,227 @@
+package ru.practicum.shareit.booking;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.booking.dto.BookingDtoWithItemAndUser;
+import ru.practicum.shareit.booking.dto.BookingRequestDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingStorage;
+import ru.practicum.shareit.booking.service.impl.BookingServiceImpl;
+import ru.practicum.shareit.exception.exceptions.BadRequestException;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemStorage;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserStorage;
+import ru.practicum.shareit.user.service.impl.UserServiceImpl;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+public class BookingIntegrationTest {
+    @Autowired
+    private BookingServiceImpl bookingService;
+    @Autowired
+    private BookingStorage bookingStorage;
+    @Autowired
+    private ItemStorage itemStorage;
+    @Autowired
+    private UserStorage userStorage;
+    @Autowired
+    private UserServiceImpl userService;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    private User owner;
+    private User booker;
+
+    @BeforeEach
+    void setUp() {
+        owner = new User();
+        owner.setName("owner");
+        owner.setEmail("owner@user.com");
+        owner = userStorage.save(owner);
+
+        booker = new User();
+        booker.setName("booker");
+        booker.setEmail("booker@user.com");
+        booker = userStorage.save(booker);
+
+        for (int i = 0; i < 20; i++) {
+            Item item = new Item();
+            item.setName("item" + i);
+            item.setDescription("description" + i);
+            item.setAvailable(true);
+            item.setOwner(owner);
+            item = itemStorage.save(item);
+
+            Booking booking = new Booking();
+            booking.setItem(item);
+            booking.setBooker(booker);
+            booking.setStatus(BookingStatus.APPROVED);
+            booking.setStartDate(LocalDateTime.now().plusDays(i + 1));
+            booking.setEndDate(LocalDateTime.now().plusDays(i + 2));
+            bookingStorage.save(booking);
+        }
+    }
+
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
+    void testFindAllByUserAndStateStatementCountDoesNotDependOnPageSize() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        statistics.clear();
+        bookingService.findAllByUserAndState(booker.getId(), "ALL", 0, 1);
+        assertEquals(2, statistics.getPrepareStatementCount());
+
+        statistics.clear();
+        List<BookingDtoWithItemAndUser> smallPage = bookingService.findAllByUserAndState(booker.getId(), "ALL", 0, 2);
+        long smallPageStatements = statistics.getPrepareStatementCount();
+
+        statistics.clear();
+        List<BookingDtoWithItemAndUser> largePage = bookingService.findAllByUserAndState(booker.getId(), "ALL", 0, 20);
+        long largePageStatements = statistics.getPrepareStatementCount();
+
+        assertEquals(2, smallPage.size());
+        assertEquals(20, largePage.size());
+        assertEquals(1, smallPageStatements);
+        assertEquals(smallPageStatements, largePageStatements);
+    }
+
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
+    void testFindAllByOwnerAndStateStatementCountDoesNotDependOnPageSize() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        statistics.clear();
+        bookingService.findAllByOwnerAndState(owner.getId(), "FUTURE", 0, 2);
+        long smallPageStatements = statistics.getPrepareStatementCount();
+
+        statistics.clear();
+        List<BookingDtoWithItemAndUser> largePage = bookingService.findAllByOwnerAndState(owner.getId(), "FUTURE",
+                0, 20);
+        long largePageStatements = statistics.getPrepareStatementCount();
+
+        assertEquals(20, largePage.size());
+        assertEquals(largePage.get(0).getBooker().getName(), booker.getName());
+        assertEquals(2, smallPageStatements);
+        assertEquals(smallPageStatements, largePageStatements);
+    }
+
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
+    void testDeletedBookerReleasesReservedPeriod() {
+        User other = new User();
+        other.setName("other");
+        other.setEmail("other@user.com");
+        other = userStorage.save(other);
+        Booking existing = bookingStorage.findAll().get(0);
+        BookingRequestDto request = new BookingRequestDto();
+        request.setItemId(existing.getItem().getId());
+        request.setStart(existing.getEndDate());
+        request.setEnd(existing.getEndDate().plusDays(1));
+        bookingService.addRequest(request, other.getId());
+
+        assertThrows(BadRequestException.class, () -> bookingService.addRequest(request, booker.getId()));
+
+        userService.delete(other.getId());
+
+        assertEquals(BookingStatus.WAITING, bookingService.addRequest(request, booker.getId()).getStatus());
+    }
+
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
+    void testOverlappingBookingIsRejected() {
+        Booking existing = bookingStorage.findAll().get(0);
+        BookingRequestDto overlapping = new BookingRequestDto();
+        overlapping.setItemId(existing.getItem().getId());
+        overlapping.setStart(existing.getStartDate().plusHours(12));
+        overlapping.setEnd(existing.getEndDate().plusHours(12));
+
+        assertThrows(BadRequestException.class, () -> bookingService.addRequest(overlapping, booker.getId()));
+
+        BookingRequestDto adjacent = new BookingRequestDto();
+        adjacent.setItemId(existing.getItem().getId());
+        adjacent.setStart(existing.getEndDate());
+        adjacent.setEnd(existing.getEndDate().plusDays(1));
+
+        BookingDtoWithItemAndUser waiting = bookingService.addRequest(adjacent, booker.getId());
+        assertEquals(BookingStatus.WAITING, waiting.getStatus());
+        assertThrows(BadRequestException.class, () -> bookingService.addRequest(adjacent, booker.getId()));
+
+        bookingService.update(owner.getId(), waiting.getId(), false);
+
+        assertEquals(BookingStatus.WAITING, bookingService.addRequest(adjacent, booker.getId()).getStatus());
+    }
+
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
+    void testConcurrentBookingsOfOneItemAllowOnlyOneWinner() throws InterruptedException {
+        Item item = new Item();
+        item.setName("contended");
+        item.setDescription("contended");
+        item.setAvailable(true);
+        item.setOwner(owner);
+        Long itemId = itemStorage.save(item).getId();
+
+        int attempts = 16;
+        List<Long> bookerIds = new ArrayList<>();
+        for (int i = 0; i < attempts; i++) {
+            User user = new User();
+            user.setName("booker" + i);
+            user.setEmail("booker" + i + "@user.com");
+            bookerIds.add(userStorage.save(user).getId());
+        }
+        LocalDateTime start = LocalDateTime.now().plusDays(30);
+
+        ExecutorService executor = Executors.newFixedThreadPool(attempts);
+        CountDownLatch ready = new CountDownLatch(attempts);
+        CountDownLatch go = new CountDownLatch(1);
+        AtomicInteger wins = new AtomicInteger();
+        AtomicInteger conflicts = new AtomicInteger();
+        for (int i = 0; i < attempts; i++) {
+            BookingRequestDto request = new BookingRequestDto();
+            request.setItemId(itemId);
+            request.setStart(start.plusHours(i % 3));
+            request.setEnd(start.plusDays(1).plusHours(i % 3));
+            Long bookerId = bookerIds.get(i);
+            executor.submit(() -> {
+                ready.countDown();
+                try {
+                    go.await();
+                    bookingService.addRequest(request, bookerId);
+                    wins.incrementAndGet();
+                } catch (BadRequestException e) {
+                    conflicts.incrementAndGet();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+        ready.await();
+        go.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        assertEquals(1, wins.get());
+        assertEquals(attempts - 1, conflicts.get());
+        assertEquals(1, bookingStorage.findAllByItemIdAndStatusInAndEndDateAfter(itemId,
+                List.of(BookingStatus.WAITING, BookingStatus.APPROVED), LocalDateTime.now()).size());
+    }
+}
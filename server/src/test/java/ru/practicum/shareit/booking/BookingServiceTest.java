@@ -5,19 +5,25 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import ru.practicum.shareit.booking.dto.BookingDtoWithItemAndUser;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
+import ru.practicum.shareit.booking.interval.BookingIntervalIndex;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.repository.BookingStorage;
 import ru.practicum.shareit.booking.service.impl.BookingServiceImpl;
+import ru.practicum.shareit.cache.GuardCache;
 import ru.practicum.shareit.exception.exceptions.BadRequestException;
 import ru.practicum.shareit.exception.exceptions.NotFoundException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemStorage;
+import ru.practicum.shareit.item.service.impl.ItemBookingsUpdater;
+import ru.practicum.shareit.pagination.ApproximateCountCache;
+import ru.practicum.shareit.pagination.PageCursor;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserStorage;
 
@@ -39,6 +45,14 @@ public class BookingServiceTest {
     private UserStorage userStorage;
     @Mock
     private ItemStorage itemStorage;
+    @Mock
+    private ItemBookingsUpdater itemBookingsUpdater;
+    @Mock
+    private GuardCache guardCache;
+    @Mock
+    private BookingIntervalIndex intervalIndex;
+    @Spy
+    private ApproximateCountCache countCache = new ApproximateCountCache(60, 100);
     @InjectMocks
     private BookingServiceImpl bookingService;
     private User owner;
@@ -90,6 +104,7 @@ public class BookingServiceTest {
         assertEquals(booking.getId(), responseDto.getId());
         assertEquals(BookingStatus.WAITING, responseDto.getStatus());
         verify(bookingStorage, times(1)).save(any(Booking.class));
+        verify(itemBookingsUpdater, times(1)).refresh(item1);
     }
 
     @Test
@@ -190,6 +205,7 @@ public class BookingServiceTest {
         BookingDtoWithItemAndUser responseDto = bookingService.update(1L, 1L, true);
         assertEquals(BookingStatus.APPROVED, responseDto.getStatus());
         verify(bookingStorage, times(1)).save(any(Booking.class));
+        verify(itemBookingsUpdater, times(1)).refresh(booking.getItem());
     }
 
     @Test
@@ -235,7 +251,6 @@ public class BookingServiceTest {
 
     @Test
     void testFindById() {
-        when(userStorage.findById(anyLong())).thenReturn(Optional.of(owner));
         when(bookingStorage.findById(anyLong())).thenReturn(Optional.of(booking));
 
         BookingDtoWithItemAndUser response = bookingService.findById(owner.getId(), booking.getId());
@@ -248,7 +263,8 @@ public class BookingServiceTest {
 
     @Test
     void testFindByIdFailRequesterNotFound() {
-        when(userStorage.findById(anyLong())).thenReturn(Optional.empty());
+        doThrow(new NotFoundException(String.format("Пользователь с id %d не найден", 3L)))
+                .when(guardCache).checkUser(3L);
 
         NotFoundException e = assertThrows(NotFoundException.class,
                 () -> bookingService.findById(3L, 1L));
@@ -257,7 +273,6 @@ public class BookingServiceTest {
 
     @Test
     void testFindByIdFailBookingNotFound() {
-        when(userStorage.findById(anyLong())).thenReturn(Optional.of(booker));
         when(bookingStorage.findById(anyLong())).thenReturn(Optional.empty());
 
         NotFoundException e = assertThrows(NotFoundException.class,
@@ -272,7 +287,6 @@ public class BookingServiceTest {
         user3.setName("3");
         user3.setEmail("3@mail.com");
 
-        when(userStorage.findById(anyLong())).thenReturn(Optional.of(user3));
         when(bookingStorage.findById(anyLong())).thenReturn(Optional.of(booking));
 
         NotFoundException e = assertThrows(NotFoundException.class,
@@ -291,7 +305,6 @@ public class BookingServiceTest {
         booking1.setStartDate(LocalDateTime.now().minusMonths(1));
         booking1.setEndDate(LocalDateTime.now().minusMonths(1).plusDays(1));
 
-        when(userStorage.findById(anyLong())).thenReturn(Optional.of(booker));
         when(bookingStorage.findAllByBookerId(anyLong(), any(Pageable.class))).thenReturn(
                 new PageImpl<>(List.of(booking, booking1)));
 
@@ -315,7 +328,6 @@ public class BookingServiceTest {
         booking.setStartDate(LocalDateTime.now().minusHours(1));
         booking.setEndDate(LocalDateTime.now().plusHours(4));
 
-        when(userStorage.findById(anyLong())).thenReturn(Optional.of(booker));
         when(bookingStorage.findAllByBookerIdAndStartDateBeforeAndEndDateAfter(anyLong(), any(LocalDateTime.class),
                 any(LocalDateTime.class), any(Pageable.class))).thenReturn(new PageImpl<>(List.of(booking)));
 
@@ -338,7 +350,6 @@ public class BookingServiceTest {
         booking.setStartDate(LocalDateTime.now().minusHours(5));
         booking.setEndDate(LocalDateTime.now().plusHours(2));
 
-        when(userStorage.findById(anyLong())).thenReturn(Optional.of(booker));
         when(bookingStorage.findAllByBookerIdAndEndDateBefore(anyLong(), any(LocalDateTime.class),
                 any(Pageable.class))).thenReturn(new PageImpl<>(List.of(booking)));
 
@@ -359,7 +370,6 @@ public class BookingServiceTest {
         booking.setStartDate(LocalDateTime.now().plusDays(1));
         booking.setEndDate(LocalDateTime.now().plusDays(2));
 
-        when(userStorage.findById(anyLong())).thenReturn(Optional.of(booker));
         when(bookingStorage.findAllByBookerIdAndStartDateAfter(anyLong(), any(LocalDateTime.class),
                 any(Pageable.class))).thenReturn(new PageImpl<>(List.of(booking)));
 
@@ -377,7 +387,6 @@ public class BookingServiceTest {
 
     @Test
     void testFindAllByUserAndStateWaiting() {
-        when(userStorage.findById(anyLong())).thenReturn(Optional.of(booker));
         when(bookingStorage.findAllByBookerIdAndStatus(anyLong(), any(BookingStatus.class),
                 any(Pageable.class))).thenReturn(new PageImpl<>(List.of(booking)));
 
@@ -397,7 +406,6 @@ public class BookingServiceTest {
     void testFindAllByUserAndStateRejected() {
         booking.setStatus(BookingStatus.REJECTED);
 
-        when(userStorage.findById(anyLong())).thenReturn(Optional.of(booker));
         when(bookingStorage.findAllByBookerIdAndStatus(anyLong(), any(BookingStatus.class),
                 any(Pageable.class))).thenReturn(new PageImpl<>(List.of(booking)));
 
@@ -415,7 +423,7 @@ public class BookingServiceTest {
 
     @Test
     void testFindAllByUserAndStateFailedUserNotFound() {
-        when(userStorage.findById(anyLong())).thenReturn(Optional.empty());
+        doThrow(new NotFoundException("Пользователь с id 99 не найден")).when(guardCache).checkUser(99L);
 
         NotFoundException e = assertThrows(NotFoundException.class, () -> bookingService.findAllByUserAndState(99L,
                 "WAITING", 0, 20));
@@ -424,7 +432,6 @@ public class BookingServiceTest {
 
     @Test
     void testFindAllByUserAndStateFailedUnsupportedStatus() {
-        when(userStorage.findById(anyLong())).thenReturn(Optional.of(booker));
         BadRequestException e = assertThrows(BadRequestException.class, () -> bookingService.findAllByUserAndState(
                 booker.getId(), "UNSUPPORTED_STATUS", 0, 20
         ));
@@ -580,4 +587,45 @@ public class BookingServiceTest {
         ));
         assertEquals("Unknown state: UNSUPPORTED_STATUS", e.getMessage());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testFindAllByUserAndStateAfterCursor() {
+        when(bookingStorage.findAllByBookerIdAfterCursor(anyLong(), any(LocalDateTime.class), anyLong(),
+                any(Pageable.class))).thenReturn(List.of(booking));
+
+        String after = PageCursor.of(booking.getStartDate().plusDays(1), 5L).encode();
+        List<BookingDtoWithItemAndUser> bookings = bookingService.findAllByUserAndStateAfter(booker.getId(), "ALL",
+                after, 20);
+
+        assertEquals(1, bookings.size());
+        assertEquals(booking.getId(), bookings.get(0).getId());
+        verify(bookingStorage, times(1)).findAllByBookerIdAfterCursor(eq(booker.getId()),
+                eq(booking.getStartDate().plusDays(1)), eq(5L), any(Pageable.class));
+    }
+
+    @Test
+    void testFindAllByOwnerAndStateAfterCursorFailWrongCursor() {
+        when(itemStorage.findAllOwnersItemsIds(anyLong())).thenReturn(List.of(item1.getId()));
+
+        BadRequestException e = assertThrows(BadRequestException.class,
+                () -> bookingService.findAllByOwnerAndStateAfter(owner.getId(), "ALL", "not-a-cursor", 20));
+        assertEquals("Некорректный курсор страницы: not-a-cursor", e.getMessage());
+    }
+
+    @Test
+    void testCountByUserAndStateIsCached() {
+        when(bookingStorage.countByBookerIdAndStatus(anyLong(), any(BookingStatus.class))).thenReturn(3L);
+
+        assertEquals(3L, bookingService.countByUserAndState(booker.getId(), "WAITING"));
+        assertEquals(3L, bookingService.countByUserAndState(booker.getId(), "WAITING"));
+        verify(bookingStorage, times(1)).countByBookerIdAndStatus(booker.getId(), BookingStatus.WAITING);
+    }
+
+    @Test
+    void testCountByOwnerAndStateAll() {
+        when(bookingStorage.countByItemOwnerId(anyLong())).thenReturn(5L);
+
+        assertEquals(5L, bookingService.countByOwnerAndState(owner.getId(), "ALL"));
+        verify(bookingStorage, times(1)).countByItemOwnerId(owner.getId());
+    }
+}
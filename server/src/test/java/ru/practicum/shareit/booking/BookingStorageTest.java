@@ -16,10 +16,15 @@ import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserStorage;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.data.domain.Sort.Direction.ASC;
 import static org.springframework.data.domain.Sort.Direction.DESC;
 
@@ -245,12 +250,12 @@ public class BookingStorageTest {
 
     @Test
     @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
-    void testFindFirstByItemIdAndStatusNotAndStartDateAfter() {
+    void testFindFirstByItemIdAndStatusAndStartDateAfter() {
         booking = bookingStorage.save(booking);
         booking2 = bookingStorage.save(booking2);
 
-        Optional<Booking> nextBooking = bookingStorage.findFirstByItemIdAndStatusNotAndStartDateAfter(
-                item1.getId(), BookingStatus.REJECTED, LocalDateTime.now(), Sort.by(ASC, "startDate")
+        Optional<Booking> nextBooking = bookingStorage.findFirstByItemIdAndStatusAndStartDateAfter(
+                item1.getId(), BookingStatus.APPROVED, LocalDateTime.now(), Sort.by(ASC, "startDate")
         );
 
         assertEquals(booking.getId(), nextBooking.get().getId());
@@ -285,4 +290,84 @@ public class BookingStorageTest {
 
         assertEquals(booking.getId(), bookingOptional.get().getId());
     }
+
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
+    void testFindAllByBookerIdAfterCursor() {
+        booking.setStartDate(booking.getStartDate().truncatedTo(ChronoUnit.SECONDS));
+        booking2.setStartDate(booking2.getStartDate().truncatedTo(ChronoUnit.SECONDS));
+        booking = bookingStorage.save(booking);
+        booking2 = bookingStorage.save(booking2);
+        PageRequest limit = PageRequest.of(0, 1, sortStartDesc.and(Sort.by(DESC, "id")));
+
+        List<Booking> bookings = bookingStorage.findAllByBookerIdAfterCursor(booker.getId(),
+                booking2.getStartDate(), booking2.getId(), limit);
+
+        assertEquals(1, bookings.size());
+        assertEquals(booking.getId(), bookings.get(0).getId());
+
+        bookings = bookingStorage.findAllByBookerIdAfterCursor(booker.getId(), booking.getStartDate(),
+                booking.getId(), limit);
+
+        assertEquals(0, bookings.size());
+    }
+
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
+    void testFindAllByItemOwnerIdAndStatusAfterCursor() {
+        booking.setStartDate(booking.getStartDate().truncatedTo(ChronoUnit.SECONDS));
+        booking2.setStartDate(booking.getStartDate());
+        booking = bookingStorage.save(booking);
+        booking2 = bookingStorage.save(booking2);
+        PageRequest limit = PageRequest.of(0, 20, sortStartDesc.and(Sort.by(DESC, "id")));
+
+        List<Booking> bookings = bookingStorage.findAllByItemOwnerIdAndStatusAfterCursor(owner.getId(),
+                BookingStatus.APPROVED, booking2.getStartDate(), booking2.getId(), limit);
+
+        assertEquals(1, bookings.size());
+        assertEquals(booking.getId(), bookings.get(0).getId());
+    }
+
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
+    void testFindLastAndNextByItemIds() {
+        Item item2 = new Item();
+        item2.setName("item2");
+        item2.setDescription("item2Desc");
+        item2.setOwner(owner);
+        item2.setAvailable(true);
+        item2 = itemStorage.save(item2);
+
+        Booking past = new Booking();
+        past.setItem(item1);
+        past.setStatus(BookingStatus.APPROVED);
+        past.setBooker(booker);
+        past.setStartDate(LocalDateTime.now().minusDays(5));
+        past.setEndDate(LocalDateTime.now().minusDays(4));
+        Booking rejected = new Booking();
+        rejected.setItem(item1);
+        rejected.setStatus(BookingStatus.REJECTED);
+        rejected.setBooker(booker);
+        rejected.setStartDate(LocalDateTime.now().plusHours(1));
+        rejected.setEndDate(LocalDateTime.now().plusHours(2));
+        Booking waiting = new Booking();
+        waiting.setItem(item1);
+        waiting.setStatus(BookingStatus.WAITING);
+        waiting.setBooker(booker);
+        waiting.setStartDate(LocalDateTime.now().plusHours(3));
+        waiting.setEndDate(LocalDateTime.now().plusHours(4));
+        booking = bookingStorage.save(booking);
+        booking2 = bookingStorage.save(booking2);
+        past = bookingStorage.save(past);
+        bookingStorage.save(rejected);
+        bookingStorage.save(waiting);
+
+        List<Booking> bookings = bookingStorage.findLastAndNextByItemIds(List.of(item1.getId(), item2.getId()),
+                LocalDateTime.now());
+
+        assertEquals(2, bookings.size());
+        Map<Long, Booking> byId = bookings.stream().collect(Collectors.toMap(Booking::getId, Function.identity()));
+        assertTrue(byId.containsKey(past.getId()));
+        assertTrue(byId.containsKey(booking.getId()));
+    }
 }
@@ -0,0 +1,78 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.booking.interval.IntervalSet;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+public class IntervalSetTest {
+    @Test
+    void testUnionMergesOverlappingAndAdjacentIntervals() {
+        IntervalSet busy = IntervalSet.union(new long[]{30, 10, 15, 50}, new long[]{40, 20, 30, 60});
+
+        assertEquals(2, busy.size());
+        assertEquals(10, busy.start(0));
+        assertEquals(40, busy.end(0));
+        assertEquals(50, busy.start(1));
+        assertEquals(60, busy.end(1));
+    }
+
+    @Test
+    void testClipAndComplement() {
+        IntervalSet busy = IntervalSet.union(new long[]{10, 50}, new long[]{40, 60});
+
+        IntervalSet clipped = busy.clip(20, 55);
+        assertEquals(2, clipped.size());
+        assertEquals(20, clipped.start(0));
+        assertEquals(55, clipped.end(1));
+
+        IntervalSet free = busy.complement(0, 100);
+        assertEquals(3, free.size());
+        assertEquals(0, free.start(0));
+        assertEquals(10, free.end(0));
+        assertEquals(40, free.start(1));
+        assertEquals(50, free.end(1));
+        assertEquals(60, free.start(2));
+        assertEquals(100, free.end(2));
+
+        assertEquals(0, busy.complement(10, 40).size());
+        assertEquals(1, IntervalSet.union(new long[0], new long[0]).complement(0, 10).size());
+    }
+
+    @Test
+    void testMatchesBruteForce() {
+        Random random = new Random(7);
+        int length = 5000;
+        int count = 500;
+        long[] starts = new long[count];
+        long[] ends = new long[count];
+        boolean[] expected = new boolean[length];
+        for (int i = 0; i < count; i++) {
+            starts[i] = random.nextInt(length - 50);
+            ends[i] = starts[i] + 1 + random.nextInt(30);
+            for (long t = starts[i]; t < ends[i]; t++) {
+                expected[(int) t] = true;
+            }
+        }
+
+        IntervalSet busy = IntervalSet.union(starts, ends);
+        IntervalSet free = busy.complement(0, length);
+        boolean[] actual = new boolean[length];
+        for (int i = 0; i < busy.size(); i++) {
+            for (long t = busy.start(i); t < busy.end(i); t++) {
+                actual[(int) t] = true;
+            }
+        }
+        for (int i = 0; i < free.size(); i++) {
+            for (long t = free.start(i); t < free.end(i); t++) {
+                assertFalse(actual[(int) t]);
+            }
+        }
+        for (int t = 0; t < length; t++) {
+            assertEquals(expected[t], actual[t]);
+        }
+    }
+}
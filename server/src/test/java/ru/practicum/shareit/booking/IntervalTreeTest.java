@@ -0,0 +1,66 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.booking.interval.IntervalTree;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class IntervalTreeTest {
+    @Test
+    void testOverlapsUsesHalfOpenIntervals() {
+        IntervalTree tree = new IntervalTree();
+        tree.add(1L, 10, 20);
+        tree.add(2L, 30, 40);
+
+        assertTrue(tree.overlaps(15, 35));
+        assertTrue(tree.overlaps(0, 11));
+        assertFalse(tree.overlaps(20, 30));
+        assertFalse(tree.overlaps(0, 10));
+        assertEquals(2, tree.overlapping(0, 100).size());
+    }
+
+    @Test
+    void testRemove() {
+        IntervalTree tree = new IntervalTree();
+        tree.add(1L, 10, 20);
+
+        assertTrue(tree.remove(1L));
+        assertFalse(tree.remove(1L));
+        assertFalse(tree.overlaps(10, 20));
+        assertEquals(0, tree.size());
+    }
+
+    @Test
+    void testMatchesBruteForce() {
+        Random random = new Random(42);
+        IntervalTree tree = new IntervalTree();
+        Map<Long, long[]> intervals = new HashMap<>();
+        for (long id = 1; id <= 2000; id++) {
+            long start = random.nextInt(10000);
+            long end = start + 1 + random.nextInt(200);
+            tree.add(id, start, end);
+            intervals.put(id, new long[]{start, end});
+            if (random.nextInt(3) == 0) {
+                long removed = 1 + random.nextInt((int) id);
+                assertEquals(intervals.remove(removed) != null, tree.remove(removed));
+            }
+        }
+        assertEquals(intervals.size(), tree.size());
+
+        for (int i = 0; i < 1000; i++) {
+            long start = random.nextInt(10000);
+            long end = start + 1 + random.nextInt(100);
+            long count = intervals.values().stream()
+                    .filter(interval -> interval[0] < end && start < interval[1])
+                    .count();
+            assertEquals(count > 0, tree.overlaps(start, end));
+            assertEquals(count, tree.overlapping(start, end).size());
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package ru.practicum.shareit.cache;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.exception.exceptions.NotFoundException;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemStorage;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.repository.ItemRequestStorage;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserStorage;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class EntityTagsTest {
+    @Mock
+    private GuardCache guardCache;
+    @Mock
+    private UserStorage userStorage;
+    @Mock
+    private ItemStorage itemStorage;
+    @Mock
+    private ItemRequestStorage itemRequestStorage;
+    @InjectMocks
+    private EntityTags entityTags;
+
+    @Test
+    void testTagFollowsStoredRevision() {
+        when(userStorage.findRevisionById(1L)).thenReturn(Optional.of(0L), Optional.of(0L), Optional.of(1L));
+        when(userStorage.findRevisionById(2L)).thenReturn(Optional.of(0L));
+
+        String tag = entityTags.userTag(1L);
+
+        assertEquals(tag, entityTags.userTag(1L));
+        assertNotEquals(tag, entityTags.userTag(2L));
+        assertNotEquals(tag, entityTags.userTag(1L));
+    }
+
+    @Test
+    void testMissingEntityHasNoTag() {
+        when(userStorage.findRevisionById(1L)).thenReturn(Optional.empty());
+
+        assertNull(entityTags.userTag(1L));
+    }
+
+    @Test
+    void testOwnerGetsNoItemTag() {
+        when(guardCache.getItemOwnerId(1L)).thenReturn(1L);
+        when(itemStorage.findRevisionById(1L)).thenReturn(Optional.of(3L));
+
+        assertNull(entityTags.itemTag(1L, 1L));
+        assertEquals("i1-3", entityTags.itemTag(1L, 2L));
+    }
+
+    @Test
+    void testRequestTagChecksUser() {
+        doThrow(new NotFoundException("Пользователь с id 2 не найден")).when(guardCache).checkUser(2L);
+
+        assertThrows(NotFoundException.class, () -> entityTags.requestTag(1L, 2L));
+        verifyNoInteractions(itemRequestStorage);
+    }
+
+    @Test
+    void testDeletedUserTouchesCommentedItemsAndAnsweredRequests() {
+        Item item = new Item();
+        ItemRequest itemRequest = new ItemRequest();
+        when(itemStorage.findAllCommentedBy(1L)).thenReturn(List.of(item));
+        when(itemRequestStorage.findAllAnsweredBy(1L)).thenReturn(List.of(itemRequest));
+
+        entityTags.touchDeletedUser(1L);
+
+        assertEquals(1L, item.getRevision());
+        assertEquals(1L, itemRequest.getRevision());
+        verifyNoInteractions(userStorage);
+    }
+
+    @Test
+    void testTouchRequestsSkipsEmptyBatch() {
+        ItemRequest itemRequest = new ItemRequest();
+        when(itemRequestStorage.findAllById(List.of(1L))).thenReturn(List.of(itemRequest));
+
+        entityTags.touchRequests(Set.of());
+        entityTags.touchRequest(1L);
+
+        assertEquals(1L, itemRequest.getRevision());
+        verify(itemRequestStorage, times(1)).findAllById(List.of(1L));
+        verifyNoMoreInteractions(itemRequestStorage);
+    }
+
+    @Test
+    void testTouchUpdatesManagedEntity() {
+        User user = new User();
+        when(userStorage.findById(1L)).thenReturn(Optional.of(user));
+
+        entityTags.touchUser(1L);
+        entityTags.touchUser(1L);
+
+        assertEquals(2L, user.getRevision());
+    }
+}
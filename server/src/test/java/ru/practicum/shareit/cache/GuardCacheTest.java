@@ -0,0 +1,95 @@
+package ru.practicum.shareit.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.exception.exceptions.NotFoundException;
+import ru.practicum.shareit.item.repository.ItemStorage;
+import ru.practicum.shareit.user.repository.UserStorage;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class GuardCacheTest {
+    @Mock
+    private UserStorage userStorage;
+    @Mock
+    private ItemStorage itemStorage;
+    private SimpleMeterRegistry registry;
+    private GuardCache guardCache;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        guardCache = new GuardCache(userStorage, itemStorage, registry, 2);
+    }
+
+    @Test
+    void testCheckUserIsCached() {
+        when(userStorage.existsById(1L)).thenReturn(true);
+
+        guardCache.checkUser(1L);
+        guardCache.checkUser(1L);
+
+        verify(userStorage, times(1)).existsById(1L);
+        assertEquals(1, registry.get("shareit.cache.gets").tag("cache", "users").tag("result", "hit")
+                .counter().count());
+        assertEquals(1, registry.get("shareit.cache.gets").tag("cache", "users").tag("result", "miss")
+                .counter().count());
+    }
+
+    @Test
+    void testCheckUserNotFoundIsNotCached() {
+        when(userStorage.existsById(1L)).thenReturn(false);
+
+        NotFoundException e = assertThrows(NotFoundException.class, () -> guardCache.checkUser(1L));
+        assertEquals("Пользователь с id 1 не найден", e.getMessage());
+        assertThrows(NotFoundException.class, () -> guardCache.checkUser(1L));
+        verify(userStorage, times(2)).existsById(1L);
+    }
+
+    @Test
+    void testCacheIsBounded() {
+        when(userStorage.existsById(anyLong())).thenReturn(true);
+
+        guardCache.checkUser(1L);
+        guardCache.checkUser(2L);
+        guardCache.checkUser(3L);
+        guardCache.checkUser(1L);
+
+        verify(userStorage, times(2)).existsById(1L);
+        assertEquals(2, registry.get("shareit.cache.evictions").tag("cache", "users").counter().count());
+        assertEquals(2, registry.get("shareit.cache.size").tag("cache", "users").gauge().value());
+    }
+
+    @Test
+    void testEvictUserEvictsOwnedItems() {
+        when(userStorage.existsById(1L)).thenReturn(true);
+        when(itemStorage.findOwnerIdById(10L)).thenReturn(Optional.of(1L));
+
+        guardCache.checkUser(1L);
+        assertEquals(1L, guardCache.getItemOwnerId(10L));
+        assertEquals(1L, guardCache.getItemOwnerId(10L));
+        guardCache.evictUser(1L);
+        guardCache.checkUser(1L);
+        guardCache.getItemOwnerId(10L);
+
+        verify(userStorage, times(2)).existsById(1L);
+        verify(itemStorage, times(2)).findOwnerIdById(10L);
+    }
+
+    @Test
+    void testItemNotFound() {
+        when(itemStorage.findOwnerIdById(10L)).thenReturn(Optional.empty());
+
+        NotFoundException e = assertThrows(NotFoundException.class, () -> guardCache.getItemOwnerId(10L));
+        assertEquals("Не удалось найти вещь с id 10", e.getMessage());
+    }
+}
@@ -0,0 +1,57 @@
+package ru.practicum.shareit.datasource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class ConnectionLeaseTest {
+    @Autowired
+    private MockMvc mvc;
+    @Autowired
+    private MeterRegistry registry;
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
+    void testConnectionLeaseIsRecordedPerEndpoint() throws Exception {
+        mvc.perform(post("/users")
+                        .content("{\"name\":\"user\",\"email\":\"user@user.com\"}")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+        mvc.perform(get("/users"))
+                .andExpect(status().isOk());
+
+        assertTrue(dataSource instanceof LeaseTrackingDataSource);
+        Timer acquire = registry.find("shareit.db.connection.acquire").tag("endpoint", "UserController.findAll")
+                .timer();
+        Timer lease = registry.find("shareit.db.connection.lease").tag("endpoint", "UserController.findAll")
+                .timer();
+        assertNotNull(acquire);
+        assertNotNull(lease);
+        assertEquals(1, acquire.count());
+        assertEquals(1, lease.count());
+        assertNotNull(registry.find("shareit.db.connection.lease").tag("endpoint", "UserController.create")
+                .timer());
+        assertNotNull(registry.find("hikaricp.connections.pending").gauge());
+    }
+}
@@ -0,0 +1,126 @@
+package ru.practicum.shareit.datasource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.user.dto.UserRequestDto;
+import ru.practicum.shareit.user.dto.UserResponseDto;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserStorage;
+import ru.practicum.shareit.user.service.impl.UserServiceImpl;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ru.practicum.shareit.Constant.USER_HEADER;
+
+@SpringBootTest(properties = {
+        "shareit.datasource.replica-urls=" + ReplicaRoutingTest.REPLICA_URL,
+        "shareit.datasource.sticky-seconds=60"
+})
+@AutoConfigureMockMvc
+public class ReplicaRoutingTest {
+    static final String REPLICA_URL = "jdbc:h2:mem:shareit-replica;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private UserServiceImpl userService;
+    @Autowired
+    private UserStorage userStorage;
+    @Autowired
+    private ReplicaStickiness stickiness;
+    @Autowired
+    private MockMvc mvc;
+    @Autowired
+    private DataSource dataSource;
+    @Autowired
+    private MeterRegistry registry;
+
+    @BeforeAll
+    static void migrateReplica() {
+        Flyway.configure()
+                .dataSource(REPLICA_URL, "test", "test")
+                .locations("classpath:db/migration")
+                .load()
+                .migrate();
+    }
+
+    @AfterEach
+    void clearCurrentUser() {
+        ReplicaStickiness.clearCurrentUser();
+    }
+
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
+    void testReadOnlyTransactionsGoToReplicaUnlessUserIsSticky() {
+        UserRequestDto userDto = new UserRequestDto();
+        userDto.setName("user");
+        userDto.setEmail("user@user.com");
+        UserResponseDto user = userService.create(userDto);
+
+        assertTrue(userService.findAll().isEmpty());
+
+        ReplicaStickiness.setCurrentUser(user.getId());
+        assertTrue(userService.findAll().isEmpty());
+
+        stickiness.markWrite(user.getId());
+        assertEquals(1, userService.findAll().size());
+    }
+
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
+    void testWriterReadsOwnWritesOverHttp() throws Exception {
+        User owner = new User();
+        owner.setName("owner");
+        owner.setEmail("owner@user.com");
+        owner = userStorage.save(owner);
+        User reader = new User();
+        reader.setName("reader");
+        reader.setEmail("reader@user.com");
+        reader = userStorage.save(reader);
+
+        mvc.perform(post("/items")
+                        .header(USER_HEADER, owner.getId())
+                        .content("{\"name\":\"item\",\"description\":\"desc\",\"available\":true}")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+
+        mvc.perform(get("/items").header(USER_HEADER, owner.getId()))
+                .andExpect(status().isOk())
+                .andExpect(result -> assertTrue(result.getResponse().getContentAsString().contains("\"item\"")));
+        mvc.perform(get("/items/search").param("text", "item").header(USER_HEADER, reader.getId()))
+                .andExpect(status().isOk())
+                .andExpect(result -> assertEquals("[]", result.getResponse().getContentAsString()));
+    }
+
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
+    void testConnectionAcquireIsMeasuredBehindLazyProxy() throws Exception {
+        mvc.perform(get("/users"))
+                .andExpect(status().isOk());
+
+        assertTrue(dataSource instanceof LazyConnectionDataSourceProxy);
+        assertTrue(((LazyConnectionDataSourceProxy) dataSource).getTargetDataSource()
+                instanceof LeaseTrackingDataSource);
+        Timer acquire = registry.find("shareit.db.connection.acquire").tag("endpoint", "UserController.findAll")
+                .timer();
+        assertNotNull(acquire);
+        assertEquals(1, acquire.count());
+    }
+}
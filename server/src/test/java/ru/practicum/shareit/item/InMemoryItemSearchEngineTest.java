@@ -0,0 +1,107 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemStorage;
+import ru.practicum.shareit.item.search.InMemoryItemSearchEngine;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class InMemoryItemSearchEngineTest {
+    @InjectMocks
+    private InMemoryItemSearchEngine searchEngine;
+    @Mock
+    private ItemStorage itemStorage;
+
+    private Item drill;
+    private Item saw;
+    private Item hammer;
+
+    @BeforeEach
+    void setUp() {
+        drill = createItem(1L, "Дрель", "Аккумуляторная дрель Makita", true);
+        saw = createItem(2L, "Пила", "Пила для дрели не подходит", true);
+        hammer = createItem(3L, "Hammer", "Молоток, ЁЖ-модель", true);
+        searchEngine.index(drill);
+        searchEngine.index(saw);
+        searchEngine.index(hammer);
+    }
+
+    @Test
+    void testSearchRanksNameMatchesFirst() {
+        when(itemStorage.findAllById(anyIterable())).thenReturn(List.of(saw, drill));
+
+        List<Item> items = searchEngine.search("ДРЕЛ", 0, 10);
+
+        assertEquals(List.of(drill, saw), items);
+        verify(itemStorage, times(1)).findAllById(List.of(1L, 2L));
+    }
+
+    @Test
+    void testSearchFoldsCaseAndYo() {
+        when(itemStorage.findAllById(anyIterable())).thenReturn(List.of(hammer));
+
+        assertEquals(List.of(hammer), searchEngine.search("hammer еж", 0, 10));
+    }
+
+    @Test
+    void testSearchSkipsUnavailableAndRemovedItems() {
+        drill.setAvailable(false);
+        searchEngine.index(drill);
+        searchEngine.remove(saw.getId());
+
+        assertTrue(searchEngine.search("дрель", 0, 10).isEmpty());
+        verifyNoInteractions(itemStorage);
+    }
+
+    @Test
+    void testSearchPaging() {
+        when(itemStorage.findAllById(anyIterable())).thenReturn(List.of(saw));
+
+        assertEquals(List.of(saw), searchEngine.search("дрел", 1, 1));
+        verify(itemStorage, times(1)).findAllById(List.of(2L));
+    }
+
+    @Test
+    void testSearchDropsItemsMissingFromStorageBeforePaging() {
+        when(itemStorage.findAllById(List.of(1L))).thenReturn(List.of());
+        when(itemStorage.findAllById(List.of(2L))).thenReturn(List.of(saw));
+
+        assertEquals(List.of(saw), searchEngine.search("дрел", 0, 1));
+        assertEquals(List.of(saw), searchEngine.search("дрел", 0, 1));
+        verify(itemStorage, times(1)).findAllById(List.of(1L));
+    }
+
+    @Test
+    void testSearchAvailableSkipsBookedItems() {
+        LocalDateTime start = LocalDateTime.of(2030, 1, 4, 12, 0);
+        LocalDateTime end = start.plusDays(2);
+        when(itemStorage.findBookedItemIds(List.of(1L, 2L), start, end)).thenReturn(Set.of(1L));
+        when(itemStorage.findAllById(anyIterable())).thenReturn(List.of(saw));
+
+        assertEquals(List.of(saw), searchEngine.searchAvailable("дрел", start, end, 0, 10));
+        verify(itemStorage, times(1)).findAllById(List.of(2L));
+    }
+
+    private Item createItem(Long id, String name, String description, boolean available) {
+        Item item = new Item();
+        item.setId(id);
+        item.setName(name);
+        item.setDescription(description);
+        item.setAvailable(available);
+        return item;
+    }
+}
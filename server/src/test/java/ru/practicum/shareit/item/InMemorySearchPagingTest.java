@@ -0,0 +1,95 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.item.dto.ItemRequestDto;
+import ru.practicum.shareit.item.service.impl.ItemServiceImpl;
+import ru.practicum.shareit.pagination.PageCursor;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserStorage;
+import ru.practicum.shareit.user.service.impl.UserServiceImpl;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ru.practicum.shareit.Constant.NEXT_CURSOR_HEADER;
+import static ru.practicum.shareit.Constant.USER_HEADER;
+
+@SpringBootTest(properties = "shareit.search.engine=memory")
+@AutoConfigureMockMvc
+public class InMemorySearchPagingTest {
+    @Autowired
+    private ItemServiceImpl itemService;
+    @Autowired
+    private UserStorage userStorage;
+    @Autowired
+    private UserServiceImpl userService;
+    @Autowired
+    private MockMvc mvc;
+
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
+    void testRankedSearchPagesWithFromSizeOnly() throws Exception {
+        User owner = new User();
+        owner.setName("owner");
+        owner.setEmail("owner@user.com");
+        owner = userStorage.save(owner);
+        itemService.create(owner.getId(), item("Перфоратор", "Ударная дрель-перфоратор"));
+        itemService.create(owner.getId(), item("Дрель", "Дрель с набором сверл"));
+        itemService.create(owner.getId(), item("Шуруповерт", "Работает как дрель"));
+
+        mvc.perform(get("/items/search").param("text", "дрель").param("size", "2")
+                        .header(USER_HEADER, owner.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].name", is("Дрель")))
+                .andExpect(header().doesNotExist(NEXT_CURSOR_HEADER));
+        mvc.perform(get("/items/search").param("text", "дрель").param("from", "2").param("size", "2")
+                        .header(USER_HEADER, owner.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(header().doesNotExist(NEXT_CURSOR_HEADER));
+        mvc.perform(get("/items/search").param("text", "дрель").param("size", "2")
+                        .param("after", PageCursor.of(1L).encode())
+                        .header(USER_HEADER, owner.getId()))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
+    void testDeletedOwnersItemsLeaveSearchPages() throws Exception {
+        User owner = new User();
+        owner.setName("owner");
+        owner.setEmail("owner@user.com");
+        owner = userStorage.save(owner);
+        User deleted = new User();
+        deleted.setName("deleted");
+        deleted.setEmail("deleted@user.com");
+        deleted = userStorage.save(deleted);
+        itemService.create(deleted.getId(), item("Дрель", "Дрель ударная"));
+        itemService.create(owner.getId(), item("Перфоратор", "Ударная дрель-перфоратор"));
+        itemService.create(owner.getId(), item("Шуруповерт", "Работает как дрель"));
+
+        userService.delete(deleted.getId());
+
+        mvc.perform(get("/items/search").param("text", "дрель").param("size", "2")
+                        .header(USER_HEADER, owner.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)));
+    }
+
+    private static ItemRequestDto item(String name, String description) {
+        ItemRequestDto dto = new ItemRequestDto();
+        dto.setName(name);
+        dto.setDescription(description);
+        dto.setAvailable(true);
+        return dto;
+    }
+}
@@ -8,13 +8,17 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.cache.EntityTags;
 import ru.practicum.shareit.item.comment.CommentRequestDto;
 import ru.practicum.shareit.item.comment.CommentResponseDto;
 import ru.practicum.shareit.item.controller.ItemController;
+import ru.practicum.shareit.item.dto.AvailabilityPeriodDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemRequestDto;
 import ru.practicum.shareit.item.dto.ItemResponseDto;
 import ru.practicum.shareit.item.dto.ItemResponseDtoWithBookings;
 import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.pagination.PageCursor;
 import ru.practicum.shareit.user.model.User;
 
 import java.nio.charset.StandardCharsets;
@@ -26,8 +30,10 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ru.practicum.shareit.Constant.NEXT_CURSOR_HEADER;
 import static ru.practicum.shareit.Constant.USER_HEADER;
 
 @WebMvcTest(controllers = ItemController.class)
@@ -38,6 +44,8 @@ public class ItemControllerTest {
     ObjectMapper mapper;
     @MockBean
     ItemService itemService;
+    @MockBean
+    EntityTags entityTags;
 
     private static User user;
     private static ItemResponseDto responseDto;
@@ -110,6 +118,24 @@ public class ItemControllerTest {
                 .andExpect(jsonPath("$.id", is(responseDtoWithBookings.getId()), Long.class));
     }
 
+    @Test
+    void testFindByIdNotModified() throws Exception {
+        when(entityTags.itemTag(1L, 2L)).thenReturn("i1-epoch-1.1");
+        when(itemService.findById(anyLong(), anyLong())).thenReturn(responseDtoWithBookings);
+
+        mvc.perform(get("/items/1")
+                        .header(USER_HEADER, "2"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"i1-epoch-1.1\""))
+                .andExpect(header().string("Vary", USER_HEADER));
+        mvc.perform(get("/items/1")
+                        .header(USER_HEADER, "2")
+                        .header("If-None-Match", "\"i1-epoch-1.1\""))
+                .andExpect(status().isNotModified());
+
+        verify(itemService, times(1)).findById(1L, 2L);
+    }
+
     @Test
     void testDeleteItem() throws Exception {
         mvc.perform(delete("/items/2")
@@ -132,7 +158,7 @@ public class ItemControllerTest {
 
     @Test
     void testSearchItems() throws Exception {
-        when(itemService.searchItems(anyString(), anyInt(), anyInt())).thenReturn(List.of(responseDto));
+        when(itemService.searchItems(anyString(), any(), any(), anyInt(), anyInt())).thenReturn(List.of(responseDto));
 
         mvc.perform(get("/items/search")
                         .header(USER_HEADER, "1")
@@ -145,6 +171,30 @@ public class ItemControllerTest {
                 .andExpect(jsonPath("$[0].id", is(responseDto.getId()), Long.class));
     }
 
+    @Test
+    void testSearchItemsSetsNextCursorWhenEngineSupportsIt() throws Exception {
+        when(itemService.searchItems(anyString(), any(), any(), anyInt(), anyInt())).thenReturn(List.of(responseDto));
+        when(itemService.isSearchCursorSupported()).thenReturn(true);
+
+        mvc.perform(get("/items/search")
+                        .header(USER_HEADER, "1")
+                        .param("text", "desc")
+                        .param("size", "1")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string(NEXT_CURSOR_HEADER, PageCursor.of(responseDto.getId()).encode()));
+
+        when(itemService.isSearchCursorSupported()).thenReturn(false);
+
+        mvc.perform(get("/items/search")
+                        .header(USER_HEADER, "1")
+                        .param("text", "desc")
+                        .param("size", "1")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(NEXT_CURSOR_HEADER));
+    }
+
     @Test
     void testAddComment() throws Exception {
         CommentRequestDto commentRequestDto = new CommentRequestDto();
@@ -166,4 +216,27 @@ public class ItemControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.id", is(commentResponseDto.getId()), Long.class));
     }
+
+    @Test
+    void testFindAvailability() throws Exception {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2030, 2, 1, 0, 0);
+        ItemAvailabilityDto availability = new ItemAvailabilityDto();
+        availability.setItemId(1L);
+        availability.setFrom(from);
+        availability.setTo(to);
+        availability.setBusy(List.of(new AvailabilityPeriodDto(from, from.plusDays(1))));
+        availability.setFree(List.of(new AvailabilityPeriodDto(from.plusDays(1), to)));
+
+        when(itemService.findAvailability(1L, 1L, from, to)).thenReturn(availability);
+        mvc.perform(get("/items/1/availability")
+                        .header(USER_HEADER, 1)
+                        .param("from", "2030-01-01T00:00:00")
+                        .param("to", "2030-02-01T00:00:00")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.busy.length()", is(1)))
+                .andExpect(jsonPath("$.free[0].start", is("2030-01-02T00:00:00")))
+                .andExpect(jsonPath("$.free[0].end", is("2030-02-01T00:00:00")));
+    }
 }
@@ -1,30 +1,45 @@
 package ru.practicum.shareit.item;
 
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.batch.BatchResult;
 import ru.practicum.shareit.booking.dto.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.repository.BookingStorage;
+import ru.practicum.shareit.cache.EntityTags;
+import ru.practicum.shareit.cache.GuardCache;
 import ru.practicum.shareit.exception.exceptions.BadRequestException;
 import ru.practicum.shareit.exception.exceptions.NotEnoughRightsException;
 import ru.practicum.shareit.exception.exceptions.NotFoundException;
 import ru.practicum.shareit.item.comment.CommentRequestDto;
 import ru.practicum.shareit.item.comment.CommentResponseDto;
 import ru.practicum.shareit.item.comment.CommentStorage;
+import ru.practicum.shareit.item.dto.AvailabilityPeriodDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemRequestDto;
 import ru.practicum.shareit.item.dto.ItemResponseDto;
 import ru.practicum.shareit.item.dto.ItemResponseDtoWithBookings;
+import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemStorage;
+import ru.practicum.shareit.item.service.impl.ItemBookingsUpdater;
 import ru.practicum.shareit.item.service.impl.ItemServiceImpl;
 import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.metrics.SqlRequestStats;
+import ru.practicum.shareit.metrics.SqlStatementCounter;
 import ru.practicum.shareit.request.repository.ItemRequestStorage;
 import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.dto.UserRequestDto;
 import ru.practicum.shareit.user.repository.UserStorage;
+import ru.practicum.shareit.user.service.impl.UserServiceImpl;
 
+import javax.persistence.EntityManagerFactory;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -43,6 +58,16 @@ public class ItemIntegrationTest {
     private BookingStorage bookingStorage;
     @Autowired
     private ItemStorage itemStorage;
+    @Autowired
+    private ItemBookingsUpdater itemBookingsUpdater;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private EntityTags entityTags;
+    @Autowired
+    private GuardCache guardCache;
+    @Autowired
+    private UserServiceImpl userService;
 
     @Test
     @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
@@ -85,6 +110,57 @@ public class ItemIntegrationTest {
         assertEquals(itemRequest.getId(), itemService.findById(newItem.getId(), user.getId()).getRequestId());
     }
 
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
+    void testCreateAllItems() {
+        User user = new User();
+        user.setName("user");
+        user.setEmail("user@user.com");
+        user = userStorage.save(user);
+
+        ItemRequest itemRequest = new ItemRequest();
+        itemRequest.setAuthor(user);
+        itemRequest.setDescription("request");
+        itemRequest = itemRequestStorage.save(itemRequest);
+
+        List<ItemRequestDto> dtos = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            ItemRequestDto dto = new ItemRequestDto();
+            dto.setName("item" + i);
+            dto.setDescription("desc" + i);
+            dto.setAvailable(true);
+            dto.setRequestId(i % 2 == 0 ? itemRequest.getId() : null);
+            dtos.add(dto);
+        }
+        ItemRequestDto missingRequest = new ItemRequestDto();
+        missingRequest.setName("item");
+        missingRequest.setDescription("desc");
+        missingRequest.setAvailable(true);
+        missingRequest.setRequestId(999L);
+        dtos.add(missingRequest);
+        dtos.add(new ItemRequestDto());
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        List<BatchResult<ItemResponseDto>> results = itemService.createAll(user.getId(), dtos);
+        long batchStatements = statistics.getPrepareStatementCount();
+
+        assertEquals(102, results.size());
+        assertEquals(100, results.stream().filter(result -> result.getError() == null).count());
+        assertEquals(itemRequest.getId(), results.get(0).getResult().getRequestId());
+        assertNull(results.get(1).getResult().getRequestId());
+        assertEquals(100, results.get(100).getIndex());
+        assertNotNull(results.get(100).getError());
+        assertNotNull(results.get(101).getError());
+        assertEquals(100, itemStorage.count());
+
+        statistics.clear();
+        for (int i = 0; i < 100; i++) {
+            itemService.create(user.getId(), dtos.get(i));
+        }
+        assertTrue(batchStatements * 10 < statistics.getPrepareStatementCount());
+    }
+
     @Test
     @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
     void testUpdate() {
@@ -223,6 +299,7 @@ public class ItemIntegrationTest {
         lastBooking.setEndDate(LocalDateTime.now().minusDays(3));
         lastBooking.setStartDate(lastBooking.getEndDate().minusDays(1));
         lastBooking = bookingStorage.save(lastBooking);
+        itemBookingsUpdater.refresh(itemStorage.findById(itemResponse.getId()).get());
 
         itemResponseDtoWithBookings = itemService.findById(itemResponse.getId(), newUser.getId());
 
@@ -239,6 +316,7 @@ public class ItemIntegrationTest {
         nextBooking.setEndDate(LocalDateTime.now().plusDays(5));
         nextBooking.setStartDate(nextBooking.getEndDate().minusDays(1));
         nextBooking = bookingStorage.save(nextBooking);
+        itemBookingsUpdater.refresh(itemStorage.findById(itemResponse.getId()).get());
 
         itemResponseDtoWithBookings = itemService.findById(itemResponse.getId(), newUser.getId());
 
@@ -252,6 +330,48 @@ public class ItemIntegrationTest {
         assertNotNull(itemResponseDtoWithBookings.getComments());
     }
 
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
+    void testFindOwnersItemsStatementCountDoesNotGrowWithItems() {
+        User owner = new User();
+        owner.setName("owner");
+        owner.setEmail("owner@user.com");
+        owner = userStorage.save(owner);
+        User booker = new User();
+        booker.setName("booker");
+        booker.setEmail("booker@user.com");
+        booker = userStorage.save(booker);
+        for (int i = 0; i < 5; i++) {
+            ItemRequestDto requestDto = new ItemRequestDto();
+            requestDto.setName("item" + i);
+            requestDto.setDescription("desc");
+            requestDto.setAvailable(true);
+            Item item = itemStorage.findById(itemService.create(owner.getId(), requestDto).getId()).get();
+            Booking booking = new Booking();
+            booking.setItem(item);
+            booking.setBooker(booker);
+            booking.setStatus(BookingStatus.APPROVED);
+            booking.setEndDate(LocalDateTime.now().minusDays(1));
+            booking.setStartDate(booking.getEndDate().minusDays(1));
+            bookingStorage.save(booking);
+            itemBookingsUpdater.refresh(itemStorage.findById(item.getId()).get());
+            CommentRequestDto commentRequestDto = new CommentRequestDto();
+            commentRequestDto.setText("comment" + i);
+            itemService.addComment(booker.getId(), item.getId(), commentRequestDto);
+        }
+        itemService.findOwnersItems(owner.getId(), 0, 1);
+
+        SqlStatementCounter.begin();
+        assertEquals(1, itemService.findOwnersItems(owner.getId(), 0, 1).size());
+        SqlRequestStats single = SqlStatementCounter.end();
+        SqlStatementCounter.begin();
+        assertEquals(5, itemService.findOwnersItems(owner.getId(), 0, 20).size());
+        SqlRequestStats all = SqlStatementCounter.end();
+
+        assertEquals(2, single.getStatements());
+        assertEquals(single.getStatements(), all.getStatements());
+    }
+
     @Test
     @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
     void testFindOwnersItems() {
@@ -300,6 +420,7 @@ public class ItemIntegrationTest {
         nextBooking.setEndDate(LocalDateTime.now().plusDays(5));
         nextBooking.setStartDate(nextBooking.getEndDate().minusDays(1));
         nextBooking = bookingStorage.save(nextBooking);
+        itemBookingsUpdater.refresh(itemStorage.findById(itemResponse.getId()).get());
 
         itemResponseDtoList = itemService.findOwnersItems(user.getId(), 0, 20);
 
@@ -350,6 +471,57 @@ public class ItemIntegrationTest {
         assertEquals(0, itemResponseDtoList.get(0).getComments().size());
     }
 
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
+    void testBookingsRollForward() {
+        ItemRequestDto requestDto = new ItemRequestDto();
+        requestDto.setName("item");
+        requestDto.setDescription("desc");
+        requestDto.setAvailable(true);
+
+        User user = new User();
+        user.setName("user");
+        user.setEmail("user@user.com");
+        user = userStorage.save(user);
+
+        ItemResponseDto itemResponse = itemService.create(user.getId(), requestDto);
+
+        User newUser = new User();
+        newUser.setName("newUser");
+        newUser.setEmail("newUser@user.com");
+        newUser = userStorage.save(newUser);
+
+        Booking booking = new Booking();
+        booking.setItem(itemStorage.findById(itemResponse.getId()).get());
+        booking.setBooker(newUser);
+        booking.setStatus(BookingStatus.APPROVED);
+        booking.setStartDate(LocalDateTime.now().plusDays(1));
+        booking.setEndDate(LocalDateTime.now().plusDays(2));
+        booking = bookingStorage.save(booking);
+        itemBookingsUpdater.refresh(itemStorage.findById(itemResponse.getId()).get());
+
+        assertEquals(booking.getId(), itemStorage.findWithBookingsById(itemResponse.getId()).get()
+                .getNextBooking().getId());
+
+        booking.setStartDate(LocalDateTime.now().minusDays(2));
+        booking.setEndDate(LocalDateTime.now().minusDays(1));
+        booking = bookingStorage.save(booking);
+
+        ItemResponseDtoWithBookings itemResponseDtoWithBookings = itemService.findById(itemResponse.getId(),
+                user.getId());
+
+        assertEquals(BookingMapper.toBookingResponseDto(booking), itemResponseDtoWithBookings.getLastBooking());
+        assertNull(itemResponseDtoWithBookings.getNextBooking());
+
+        itemBookingsUpdater.rollForward();
+
+        Item item = itemStorage.findWithBookingsById(itemResponse.getId()).get();
+        assertEquals(booking.getId(), item.getLastBooking().getId());
+        assertNull(item.getNextBooking());
+        assertEquals(BookingMapper.toBookingResponseDto(booking),
+                itemService.findOwnersItems(user.getId(), 0, 20).get(0).getLastBooking());
+    }
+
     @Test
     @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
     void testDelete() {
@@ -414,20 +586,179 @@ public class ItemIntegrationTest {
         requestDto3.setAvailable(true);
         ItemResponseDto itemResponse3 = itemService.create(user.getId(), requestDto3);
 
-        assertEquals(0, itemService.searchItems("", 0, 20).size());
+        assertEquals(0, itemService.searchItems("", null, null, 0, 20).size());
 
-        List<ItemResponseDto> items = itemService.searchItems("item", 0, 20);
+        List<ItemResponseDto> items = itemService.searchItems("item", null, null, 0, 20);
         assertEquals(2, items.size());
         assertEquals(itemResponse2.getId(), items.get(0).getId());
         assertEquals(itemResponse3.getId(), items.get(1).getId());
 
-        items = itemService.searchItems("вещь", 0, 20);
+        items = itemService.searchItems("вещь", null, null, 0, 20);
         assertEquals(1, items.size());
         assertEquals(itemResponse.getId(), items.get(0).getId());
 
-        items = itemService.searchItems("desc", 0, 20);
+        items = itemService.searchItems("desc", null, null, 0, 20);
         assertEquals(2, items.size());
         assertEquals(itemResponse.getId(), items.get(0).getId());
         assertEquals(itemResponse2.getId(), items.get(1).getId());
     }
+
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
+    void testFindAvailability() {
+        User owner = new User();
+        owner.setName("owner");
+        owner.setEmail("owner@user.com");
+        owner = userStorage.save(owner);
+
+        User booker = new User();
+        booker.setName("booker");
+        booker.setEmail("booker@user.com");
+        booker = userStorage.save(booker);
+
+        ItemRequestDto requestDto = new ItemRequestDto();
+        requestDto.setName("item");
+        requestDto.setDescription("desc");
+        requestDto.setAvailable(true);
+        Item item = itemStorage.findById(itemService.create(owner.getId(), requestDto).getId()).get();
+
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 0, 0);
+        saveBooking(item, booker, from.plusDays(1), from.plusDays(3), BookingStatus.APPROVED);
+        saveBooking(item, booker, from.plusDays(2), from.plusDays(4), BookingStatus.WAITING);
+        saveBooking(item, booker, from.plusDays(4), from.plusDays(5), BookingStatus.APPROVED);
+        saveBooking(item, booker, from.plusDays(6), from.plusDays(8), BookingStatus.REJECTED);
+        saveBooking(item, booker, from.plusDays(9), from.plusDays(12), BookingStatus.WAITING);
+
+        ItemAvailabilityDto availability = itemService.findAvailability(booker.getId(), item.getId(), from,
+                from.plusDays(10));
+
+        assertEquals(List.of(
+                new AvailabilityPeriodDto(from.plusDays(1), from.plusDays(5)),
+                new AvailabilityPeriodDto(from.plusDays(9), from.plusDays(10))), availability.getBusy());
+        assertEquals(List.of(
+                new AvailabilityPeriodDto(from, from.plusDays(1)),
+                new AvailabilityPeriodDto(from.plusDays(5), from.plusDays(9))), availability.getFree());
+        Long itemId = item.getId();
+        Long bookerId = booker.getId();
+        assertThrows(BadRequestException.class, () -> itemService.findAvailability(bookerId, itemId, from, from));
+        assertThrows(NotFoundException.class, () -> itemService.findAvailability(bookerId, 999L, from,
+                from.plusDays(1)));
+    }
+
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
+    void testFindAvailabilityKeepsSubSecondBounds() {
+        User owner = new User();
+        owner.setName("owner");
+        owner.setEmail("owner@user.com");
+        owner = userStorage.save(owner);
+
+        User booker = new User();
+        booker.setName("booker");
+        booker.setEmail("booker@user.com");
+        booker = userStorage.save(booker);
+
+        ItemRequestDto requestDto = new ItemRequestDto();
+        requestDto.setName("item");
+        requestDto.setDescription("desc");
+        requestDto.setAvailable(true);
+        Item item = itemStorage.findById(itemService.create(owner.getId(), requestDto).getId()).get();
+
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 9, 59, 59, 250_000_000);
+        LocalDateTime to = LocalDateTime.of(2030, 1, 1, 10, 0, 0, 500_000_000);
+        LocalDateTime bookingEnd = LocalDateTime.of(2030, 1, 1, 10, 0, 0, 100_000_000);
+        saveBooking(item, booker, from.minusHours(1), bookingEnd, BookingStatus.APPROVED);
+
+        ItemAvailabilityDto availability = itemService.findAvailability(booker.getId(), item.getId(), from, to);
+
+        assertEquals(List.of(new AvailabilityPeriodDto(from, bookingEnd)), availability.getBusy());
+        assertEquals(List.of(new AvailabilityPeriodDto(bookingEnd, to)), availability.getFree());
+    }
+
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
+    void testItemTagIsPersistedAndTracksCommentAuthorsOnly() {
+        User owner = new User();
+        owner.setName("owner");
+        owner.setEmail("owner@user.com");
+        owner = userStorage.save(owner);
+        User author = new User();
+        author.setName("author");
+        author.setEmail("author@user.com");
+        author = userStorage.save(author);
+        User reader = new User();
+        reader.setName("reader");
+        reader.setEmail("reader@user.com");
+        reader = userStorage.save(reader);
+
+        ItemRequestDto requestDto = new ItemRequestDto();
+        requestDto.setName("item");
+        requestDto.setDescription("desc");
+        requestDto.setAvailable(true);
+        Item item = itemStorage.findById(itemService.create(owner.getId(), requestDto).getId()).get();
+        saveBooking(item, author, LocalDateTime.now().minusDays(2), LocalDateTime.now().minusDays(1),
+                BookingStatus.APPROVED);
+        String created = entityTags.itemTag(item.getId(), reader.getId());
+
+        CommentRequestDto commentRequestDto = new CommentRequestDto();
+        commentRequestDto.setText("comment");
+        itemService.addComment(author.getId(), item.getId(), commentRequestDto);
+        String commented = entityTags.itemTag(item.getId(), reader.getId());
+
+        assertNotEquals(created, commented);
+        assertEquals(commented, new EntityTags(guardCache, userStorage, itemStorage, itemRequestStorage)
+                .itemTag(item.getId(), reader.getId()));
+
+        UserRequestDto rename = new UserRequestDto();
+        rename.setName("renamed");
+        userService.update(rename, reader.getId());
+
+        assertEquals(commented, entityTags.itemTag(item.getId(), reader.getId()));
+
+        userService.update(rename, author.getId());
+
+        assertNotEquals(commented, entityTags.itemTag(item.getId(), reader.getId()));
+    }
+
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
+    void testItemTagUpdateKeepsOtherItemsInSecondLevelCache() {
+        User owner = new User();
+        owner.setName("owner");
+        owner.setEmail("owner@user.com");
+        owner = userStorage.save(owner);
+        User reader = new User();
+        reader.setName("reader");
+        reader.setEmail("reader@user.com");
+        reader = userStorage.save(reader);
+        ItemRequestDto requestDto = new ItemRequestDto();
+        requestDto.setName("item");
+        requestDto.setDescription("desc");
+        requestDto.setAvailable(true);
+        Long updatedId = itemService.create(owner.getId(), requestDto).getId();
+        Long cachedId = itemService.create(owner.getId(), requestDto).getId();
+        String tag = entityTags.itemTag(updatedId, reader.getId());
+        itemStorage.findById(cachedId);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        ItemRequestDto updateDto = new ItemRequestDto();
+        updateDto.setName("updated");
+        itemService.update(owner.getId(), updatedId, updateDto);
+        statistics.clear();
+        itemStorage.findById(cachedId);
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getDomainDataRegionStatistics("items").getHitCount());
+        assertNotEquals(tag, entityTags.itemTag(updatedId, reader.getId()));
+    }
+
+    private void saveBooking(Item item, User booker, LocalDateTime start, LocalDateTime end, BookingStatus status) {
+        Booking booking = new Booking();
+        booking.setItem(item);
+        booking.setBooker(booker);
+        booking.setStartDate(start);
+        booking.setEndDate(end);
+        booking.setStatus(status);
+        bookingStorage.save(booking);
+    }
 }
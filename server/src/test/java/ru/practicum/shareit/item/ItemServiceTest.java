@@ -9,9 +9,13 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import ru.practicum.shareit.booking.interval.BookingIntervalIndex;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.repository.BookingStorage;
+import ru.practicum.shareit.cache.EntityTags;
+import ru.practicum.shareit.cache.GuardCache;
+import ru.practicum.shareit.exception.exceptions.BadRequestException;
 import ru.practicum.shareit.exception.exceptions.NotFoundException;
 import ru.practicum.shareit.item.comment.Comment;
 import ru.practicum.shareit.item.comment.CommentRequestDto;
@@ -22,6 +26,7 @@ import ru.practicum.shareit.item.dto.ItemResponseDto;
 import ru.practicum.shareit.item.dto.ItemResponseDtoWithBookings;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemStorage;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
 import ru.practicum.shareit.item.service.impl.ItemServiceImpl;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserStorage;
@@ -33,6 +38,7 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 
@@ -48,6 +54,14 @@ public class ItemServiceTest {
     private BookingStorage bookingStorage;
     @Mock
     private CommentStorage commentStorage;
+    @Mock
+    private ItemSearchEngine searchEngine;
+    @Mock
+    private GuardCache guardCache;
+    @Mock
+    private BookingIntervalIndex intervalIndex;
+    @Mock
+    private EntityTags entityTags;
 
     private Item item;
     private User user;
@@ -73,7 +87,6 @@ public class ItemServiceTest {
         itemRequestDto.setName("item");
         itemRequestDto.setDescription("description");
         itemRequestDto.setAvailable(true);
-        when(userStorage.findById(anyLong())).thenReturn(Optional.of(user));
         when(itemStorage.save(any(Item.class))).thenReturn(item);
 
         ItemResponseDto responseDto = itemService.create(1L, itemRequestDto);
@@ -82,8 +95,10 @@ public class ItemServiceTest {
         assertEquals(responseDto.getDescription(), itemRequestDto.getDescription());
         assertEquals(responseDto.getAvailable(), itemRequestDto.getAvailable());
         assertEquals(responseDto.getId(), 1L);
-        verify(userStorage, times(1)).findById(1L);
+        verify(guardCache, times(1)).checkUser(1L);
+        verify(userStorage, times(1)).getReferenceById(1L);
         verify(itemStorage, times(1)).save(any(Item.class));
+        verify(searchEngine, times(1)).index(item);
     }
 
     @Test
@@ -92,31 +107,51 @@ public class ItemServiceTest {
         itemRequestDto.setName("item");
         itemRequestDto.setDescription("description");
         itemRequestDto.setAvailable(true);
-        when(userStorage.findById(anyLong())).thenThrow(NotFoundException.class);
+        doThrow(new NotFoundException(String.format("Пользователь с id %d не найден", 1L)))
+                .when(guardCache).checkUser(anyLong());
         assertThrows(NotFoundException.class, () -> itemService.create(1L, itemRequestDto));
         verify(itemStorage, times(0)).save(any(Item.class));
     }
 
     @Test
     void testFindById() {
+        when(commentStorage.findAllByItemId(anyLong())).thenReturn(new ArrayList<>());
+        when(itemStorage.findWithBookingsById(anyLong())).thenReturn(Optional.of(item));
+
+        ItemResponseDtoWithBookings itemById = itemService.findById(1L, 1L);
+        assertEquals(item.getId(), itemById.getId());
+        verify(itemStorage, times(1)).findWithBookingsById(1L);
+        verifyNoInteractions(bookingStorage);
+    }
+
+    @Test
+    void testFindByIdWithStartedNextBooking() {
+        Booking booking = new Booking();
+        booking.setId(1L);
+        booking.setItem(item);
+        booking.setBooker(user);
+        booking.setStatus(BookingStatus.APPROVED);
+        booking.setStartDate(LocalDateTime.now().minusHours(1));
+        booking.setEndDate(LocalDateTime.now().plusHours(1));
+        item.setNextBooking(booking);
         when(bookingStorage.findFirstByItemIdAndStatusAndStartDateBefore(anyLong(), any(BookingStatus.class),
-                any(LocalDateTime.class), any(Sort.class))).thenReturn(Optional.empty());
-        when(bookingStorage.findFirstByItemIdAndStatusNotAndStartDateAfter(anyLong(), any(BookingStatus.class),
+                any(LocalDateTime.class), any(Sort.class))).thenReturn(Optional.of(booking));
+        when(bookingStorage.findFirstByItemIdAndStatusAndStartDateAfter(anyLong(), any(BookingStatus.class),
                 any(LocalDateTime.class), any(Sort.class))).thenReturn(Optional.empty());
         when(commentStorage.findAllByItemId(anyLong())).thenReturn(new ArrayList<>());
-        when(itemStorage.findById(anyLong())).thenReturn(Optional.of(item));
+        when(itemStorage.findWithBookingsById(anyLong())).thenReturn(Optional.of(item));
 
         ItemResponseDtoWithBookings itemById = itemService.findById(1L, 1L);
-        assertEquals(item.getId(), itemById.getId());
-        verify(itemStorage, times(1)).findById(1L);
+        assertEquals(booking.getId(), itemById.getLastBooking().getId());
+        assertNull(itemById.getNextBooking());
     }
 
     @Test
     void testFindByIdItemNotFound() {
-        when(itemStorage.findById(anyLong())).thenReturn(Optional.empty());
+        when(itemStorage.findWithBookingsById(anyLong())).thenReturn(Optional.empty());
 
         assertThrows(NotFoundException.class, () -> itemService.findById(1L, 1L));
-        verify(itemStorage, times(1)).findById(1L);
+        verify(itemStorage, times(1)).findWithBookingsById(1L);
     }
 
     @Test
@@ -125,7 +160,6 @@ public class ItemServiceTest {
         itemRequestDto.setName("item");
         itemRequestDto.setDescription("description");
         itemRequestDto.setAvailable(true);
-        when(userStorage.findById(anyLong())).thenReturn(Optional.of(user));
         when(itemStorage.findById(anyLong())).thenReturn(Optional.of(item));
         when(itemStorage.save(any(Item.class))).thenReturn(item);
 
@@ -135,14 +169,13 @@ public class ItemServiceTest {
         assertEquals(itemResponseDto.getDescription(), itemRequestDto.getDescription());
         assertEquals(itemResponseDto.getAvailable(), itemRequestDto.getAvailable());
         assertEquals(itemResponseDto.getId(), 1L);
-        verify(userStorage, times(1)).findById(1L);
+        verify(guardCache, times(1)).checkUser(1L);
         verify(itemStorage, times(1)).findById(1L);
         verify(itemStorage, times(1)).save(any(Item.class));
     }
 
     @Test
     void testFindAllOwners() {
-        when(userStorage.findById(anyLong())).thenReturn(Optional.of(user));
         when(itemStorage.findAllByOwnerId(anyLong(), any(Pageable.class))).thenReturn(new PageImpl<>(List.of(item)));
 
         List<ItemResponseDtoWithBookings> items = itemService.findOwnersItems(1L, 0, 20);
@@ -154,22 +187,35 @@ public class ItemServiceTest {
 
     @Test
     void testSearchItems() {
-        when(itemStorage.searchItems(anyString(), any(Pageable.class))).thenReturn(new PageImpl<>(List.of(item)));
+        when(searchEngine.search(anyString(), anyInt(), anyInt())).thenReturn(List.of(item));
 
-        List<ItemResponseDto> items = itemService.searchItems("item", 0, 20);
+        List<ItemResponseDto> items = itemService.searchItems("item", null, null, 0, 20);
 
         assertEquals(1, items.size());
         assertEquals(item.getId(), items.get(0).getId());
-        verify(itemStorage, times(1)).searchItems(eq("item"), any(Pageable.class));
+        verify(searchEngine, times(1)).search("item", 0, 20);
+    }
+
+    @Test
+    void testSearchItemsInPeriod() {
+        LocalDateTime start = LocalDateTime.of(2030, 1, 4, 12, 0);
+        LocalDateTime end = start.plusDays(2);
+        when(searchEngine.searchAvailable("item", start, end, 0, 20)).thenReturn(List.of(item));
+
+        assertEquals(1, itemService.searchItems("item", start, end, 0, 20).size());
+        assertThrows(BadRequestException.class, () -> itemService.searchItems("item", start, null, 0, 20));
+        assertThrows(BadRequestException.class, () -> itemService.searchItems("item", end, start, 0, 20));
+        verify(searchEngine, never()).search(anyString(), anyInt(), anyInt());
     }
 
     @Test
     void testDeleteItem() {
-        when(userStorage.findById(anyLong())).thenReturn(Optional.of(user));
-        when(itemStorage.findById(anyLong())).thenReturn(Optional.of(item));
+        when(guardCache.getItemOwnerId(anyLong())).thenReturn(1L);
 
         assertDoesNotThrow(() -> itemService.delete(1L, 1L));
         verify(itemStorage, times(1)).deleteById(1L);
+        verify(guardCache, times(1)).evictItem(1L);
+        verify(searchEngine, times(1)).remove(1L);
     }
 
     @Test
@@ -1,12 +1,17 @@
 package ru.practicum.shareit.item;
 
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemStorage;
 import ru.practicum.shareit.request.model.ItemRequest;
@@ -14,9 +19,15 @@ import ru.practicum.shareit.request.repository.ItemRequestStorage;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserStorage;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 
 @DataJpaTest
 public class ItemStorageTest {
@@ -26,6 +37,8 @@ public class ItemStorageTest {
     private UserStorage userStorage;
     @Autowired
     private ItemRequestStorage itemRequestStorage;
+    @Autowired
+    private TestEntityManager entityManager;
 
     private User user;
     private Item item1;
@@ -63,6 +76,31 @@ public class ItemStorageTest {
         item2.setOwner(user);
     }
 
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
+    void testSaveAllIsBatched() {
+        entityManager.flush();
+        Statistics statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<Item> items = IntStream.range(0, 30)
+                .mapToObj(i -> {
+                    Item item = new Item();
+                    item.setName("item" + i);
+                    item.setDescription("desc" + i);
+                    item.setOwner(user);
+                    item.setAvailable(true);
+                    return item;
+                })
+                .collect(Collectors.toList());
+        itemStorage.saveAll(items);
+        entityManager.flush();
+
+        assertEquals(30, statistics.getEntityInsertCount());
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
     @Test
     @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
     void testFindAllByOwner() {
@@ -81,6 +119,15 @@ public class ItemStorageTest {
         item1 = itemStorage.save(item1);
         Item exampleItem = itemStorage.findById(item1.getId()).get();
         assertEquals(exampleItem, item1);
+
+        entityManager.flush();
+        entityManager.clear();
+        Item reference = itemStorage.getReferenceById(item1.getId());
+        assertNotSame(Item.class, reference.getClass());
+        assertEquals(item1, reference);
+        assertEquals(reference, item1);
+        assertEquals(item1.hashCode(), reference.hashCode());
+        assertNotEquals(new Item(), new Item());
     }
 
     @Test
@@ -124,4 +171,67 @@ public class ItemStorageTest {
         assertEquals(1, items.size());
         assertEquals(1L, items.get(0).getId());
     }
+
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
+    void testFindAllByOwnerIdAndIdGreaterThan() {
+        item1 = itemStorage.save(item1);
+        item2 = itemStorage.save(item2);
+        List<Item> items = itemStorage.findAllByOwnerIdAndIdGreaterThan(user.getId(), item1.getId(),
+                PageRequest.of(0, 10, Sort.by(Sort.Direction.ASC, "id")));
+        assertEquals(1, items.size());
+        assertEquals(item2.getId(), items.get(0).getId());
+    }
+
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
+    void testSearchItemsAfterCursor() {
+        item1 = itemStorage.save(item1);
+        item2 = itemStorage.save(item2);
+        List<Item> items = itemStorage.searchItemsAfterCursor("item", item1.getId(),
+                PageRequest.of(0, 10, Sort.by(Sort.Direction.ASC, "id")));
+        assertEquals(1, items.size());
+        assertEquals(item2.getId(), items.get(0).getId());
+    }
+
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
+    void testSearchItemsSkipsUnavailableByName() {
+        item1.setAvailable(false);
+        itemStorage.save(item1);
+        itemStorage.save(item2);
+        List<Item> items = itemStorage.searchItems("item1", PageRequest.of(0, 10)).getContent();
+        assertEquals(0, items.size());
+    }
+
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
+    void testSearchItemsInPeriodSkipsBookedItems() {
+        item1 = itemStorage.save(item1);
+        item2 = itemStorage.save(item2);
+        LocalDateTime start = LocalDateTime.of(2030, 1, 4, 12, 0);
+        saveBooking(item1, start.minusDays(1), start.plusHours(1), BookingStatus.WAITING);
+        saveBooking(item2, start.minusDays(1), start.plusHours(1), BookingStatus.REJECTED);
+        saveBooking(item2, start.plusDays(2), start.plusDays(3), BookingStatus.APPROVED);
+        PageRequest pageRequest = PageRequest.of(0, 10, Sort.by(Sort.Direction.ASC, "id"));
+
+        assertEquals(List.of(item2), itemStorage.searchItems("item", start, start.plusDays(2), pageRequest)
+                .getContent());
+        assertEquals(List.of(item1, item2), itemStorage.searchItems("item", start.plusHours(1), start.plusDays(2),
+                pageRequest).getContent());
+        assertEquals(List.of(), itemStorage.searchItemsAfterCursor("item", start, start.plusDays(2),
+                item2.getId(), pageRequest));
+        assertEquals(Set.of(item1.getId(), item2.getId()), itemStorage.findBookedItemIds(
+                List.of(item1.getId(), item2.getId()), start, start.plusDays(3)));
+    }
+
+    private void saveBooking(Item item, LocalDateTime start, LocalDateTime end, BookingStatus status) {
+        Booking booking = new Booking();
+        booking.setItem(item);
+        booking.setBooker(itemRequest.getAuthor());
+        booking.setStartDate(start);
+        booking.setEndDate(end);
+        booking.setStatus(status);
+        entityManager.persist(booking);
+    }
 }
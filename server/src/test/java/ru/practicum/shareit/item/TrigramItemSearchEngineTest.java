@@ -0,0 +1,54 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemStorage;
+import ru.practicum.shareit.item.search.TrigramItemSearchEngine;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserStorage;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest(properties = "shareit.search.engine=trigram")
+@Import(TrigramItemSearchEngine.class)
+public class TrigramItemSearchEngineTest {
+    @Autowired
+    private TrigramItemSearchEngine searchEngine;
+    @Autowired
+    private ItemStorage itemStorage;
+    @Autowired
+    private UserStorage userStorage;
+
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
+    void testSearchFallsBackToJpqlOnH2() {
+        User user = new User();
+        user.setName("user");
+        user.setEmail("user@user.com");
+        user = userStorage.save(user);
+
+        Item item1 = new Item();
+        item1.setName("Дрель");
+        item1.setDescription("Аккумуляторная");
+        item1.setOwner(user);
+        item1.setAvailable(true);
+        item1 = itemStorage.save(item1);
+
+        Item item2 = new Item();
+        item2.setName("Пила");
+        item2.setDescription("Пила для дрели");
+        item2.setOwner(user);
+        item2.setAvailable(false);
+        itemStorage.save(item2);
+
+        List<Item> items = searchEngine.search("ДРЕЛ", 0, 10);
+
+        assertEquals(List.of(item1), items);
+    }
+}
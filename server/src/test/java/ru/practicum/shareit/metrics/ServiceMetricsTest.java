@@ -0,0 +1,71 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.metrics.AutoConfigureMetrics;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.exception.exceptions.BadRequestException;
+import ru.practicum.shareit.exception.exceptions.NotFoundException;
+import ru.practicum.shareit.user.service.UserService;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ru.practicum.shareit.Constant.USER_HEADER;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureMetrics
+public class ServiceMetricsTest {
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private MeterRegistry registry;
+    @Autowired
+    private MockMvc mvc;
+
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
+    void testServiceMethodsAreTimedWithStateAndOutcome() {
+        assertThrows(NotFoundException.class, () -> userService.findById(100L));
+        assertThrows(BadRequestException.class, () -> bookingService.countByUserAndState(1L, "SOMETIME"));
+        bookingService.countByUserAndState(100L, "ALL");
+
+        Timer notFound = registry.find(ServiceMetricsAspect.METRIC)
+                .tags("class", "UserServiceImpl", "method", "findById", "outcome", "ERROR",
+                        "exception", "NotFoundException")
+                .timer();
+        assertNotNull(notFound);
+        assertEquals(1, notFound.count());
+        assertNotNull(registry.find(ServiceMetricsAspect.METRIC)
+                .tags("method", "countByUserAndState", "state", "UNKNOWN").timer());
+        assertNotNull(registry.find(ServiceMetricsAspect.METRIC)
+                .tags("method", "countByUserAndState", "state", "ALL").timer());
+    }
+
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
+    void testMetricsAreExportedInPrometheusFormat() throws Exception {
+        mvc.perform(get("/bookings").param("state", "ALL").header(USER_HEADER, 100L));
+
+        mvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(result -> {
+                    String body = result.getResponse().getContentAsString();
+                    assertTrue(body.contains("shareit_method_seconds_bucket"));
+                    assertTrue(body.contains("endpoint=\"BookingController.findAllByUserAndState\""));
+                    assertTrue(body.contains("spring_data_repository_invocations_seconds_bucket"));
+                });
+    }
+}
@@ -0,0 +1,50 @@
+package ru.practicum.shareit.metrics;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ru.practicum.shareit.metrics.SqlStatementCountFilter.SERVER_TIMING_HEADER;
+import static ru.practicum.shareit.metrics.SqlStatementCountFilter.SQL_COUNT_HEADER;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class SqlStatementCountFilterTest {
+    @Autowired
+    private MockMvc mvc;
+
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
+    void testResponsesCarrySqlStatementHeaders() throws Exception {
+        mvc.perform(post("/users")
+                        .content("{\"name\":\"user\",\"email\":\"user@user.com\"}")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(SQL_COUNT_HEADER));
+
+        mvc.perform(get("/users"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(SQL_COUNT_HEADER, "1"))
+                .andExpect(header().string(SERVER_TIMING_HEADER, startsWith("db;dur=")));
+
+        mvc.perform(get("/users/100"))
+                .andExpect(status().isNotFound())
+                .andExpect(header().exists(SQL_COUNT_HEADER));
+
+        mvc.perform(delete("/users/100"))
+                .andExpect(header().exists(SQL_COUNT_HEADER));
+    }
+}
@@ -7,6 +7,7 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.cache.EntityTags;
 import ru.practicum.shareit.request.controller.ItemRequestController;
 import ru.practicum.shareit.request.dto.ItemRequestRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestResponseDto;
@@ -32,6 +33,8 @@ public class ItemRequestControllerTest {
     ObjectMapper mapper;
     @MockBean
     ItemRequestServiceImpl requestService;
+    @MockBean
+    EntityTags entityTags;
 
     @Test
     void testCreateItemRequest() throws Exception {
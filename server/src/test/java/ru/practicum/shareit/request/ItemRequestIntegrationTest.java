@@ -8,6 +8,8 @@ import org.springframework.test.annotation.DirtiesContext;
 import ru.practicum.shareit.exception.exceptions.NotFoundException;
 import ru.practicum.shareit.item.dto.ItemRequestDto;
 import ru.practicum.shareit.item.service.impl.ItemServiceImpl;
+import ru.practicum.shareit.metrics.SqlRequestStats;
+import ru.practicum.shareit.metrics.SqlStatementCounter;
 import ru.practicum.shareit.request.dto.ItemRequestRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestResponseDto;
 import ru.practicum.shareit.request.service.impl.ItemRequestServiceImpl;
@@ -91,6 +93,33 @@ public class ItemRequestIntegrationTest {
                 requestService.findAllByAuthorId(requester.getId()).get(1).getItems().get(0).getName());
     }
 
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
+    void testFindAllByAuthorIdStatementCount() {
+        requester = userStorage.save(requester);
+        owner = userStorage.save(owner);
+        for (int i = 0; i < 5; i++) {
+            ItemRequestRequestDto requestDto = new ItemRequestRequestDto();
+            requestDto.setDescription("need item" + i);
+            ItemRequestResponseDto request = requestService.create(requestDto, requester.getId());
+            ItemRequestDto itemRequestDto = new ItemRequestDto();
+            itemRequestDto.setName("item" + i);
+            itemRequestDto.setDescription("desc");
+            itemRequestDto.setAvailable(true);
+            itemRequestDto.setRequestId(request.getId());
+            itemService.create(owner.getId(), itemRequestDto);
+        }
+        requestService.findAllByAuthorId(requester.getId());
+
+        SqlStatementCounter.begin();
+        assertEquals(5, requestService.findAllByAuthorId(requester.getId()).size());
+        SqlRequestStats stats = SqlStatementCounter.end();
+
+        assertEquals(1, stats.getStatements());
+        assertEquals(stats.getStatements(), stats.getSelects());
+        assertEquals(5, stats.getRows());
+    }
+
     @Test
     @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
     void testFindAllRequests() {
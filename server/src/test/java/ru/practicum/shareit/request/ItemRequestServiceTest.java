@@ -9,6 +9,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import ru.practicum.shareit.cache.GuardCache;
 import ru.practicum.shareit.exception.exceptions.NotFoundException;
 import ru.practicum.shareit.item.repository.ItemStorage;
 import ru.practicum.shareit.request.dto.ItemRequestRequestDto;
@@ -38,6 +39,8 @@ public class ItemRequestServiceTest {
     ItemRequestStorage itemRequestStorage;
     @Mock
     ItemStorage itemStorage;
+    @Mock
+    GuardCache guardCache;
     @InjectMocks
     ItemRequestServiceImpl requestService;
     User user;
@@ -85,7 +88,6 @@ public class ItemRequestServiceTest {
 
     @Test
     void testFindAllByAuthorId() {
-        when(userStorage.findById(anyLong())).thenReturn(Optional.of(user));
         when(itemStorage.findByItemRequestIn(anyList(), any(Sort.class))).thenReturn(new ArrayList<>());
         when(itemRequestStorage.findAllByAuthorId(anyLong(), any(Sort.class))).thenReturn(List.of(itemRequest));
 
@@ -98,7 +100,8 @@ public class ItemRequestServiceTest {
 
     @Test
     void testFindAllByAuthorIdFailUserNotFound() {
-        when(userStorage.findById(anyLong())).thenReturn(Optional.empty());
+        doThrow(new NotFoundException(String.format("Пользователь с id %d не найден", user.getId())))
+                .when(guardCache).checkUser(user.getId());
 
         NotFoundException e = assertThrows(NotFoundException.class, () -> requestService.findAllByAuthorId(user.getId()));
 
@@ -107,7 +110,6 @@ public class ItemRequestServiceTest {
 
     @Test
     void testFindAllRequests() {
-        when(userStorage.findById(anyLong())).thenReturn(Optional.of(user));
         when(itemRequestStorage.findAllByAuthorIdNot(anyLong(), any(Pageable.class)))
                 .thenReturn(new PageImpl<>(List.of(itemRequest)));
 
@@ -120,7 +122,6 @@ public class ItemRequestServiceTest {
 
     @Test
     void testFindById() {
-        when(userStorage.findById(anyLong())).thenReturn(Optional.of(user));
         when(itemRequestStorage.findById(anyLong())).thenReturn(Optional.of(itemRequest));
 
         ItemRequestResponseDto responseDto = requestService.findById(user.getId(), itemRequest.getId());
@@ -131,7 +132,6 @@ public class ItemRequestServiceTest {
 
     @Test
     void testFindByIdItemRequestNotFound() {
-        when(userStorage.findById(anyLong())).thenReturn(Optional.of(user));
         when(itemRequestStorage.findById(anyLong())).thenReturn(Optional.empty());
 
         NotFoundException e = assertThrows(NotFoundException.class,
@@ -12,9 +12,12 @@ import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserStorage;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.springframework.data.domain.Sort.Direction.ASC;
+import static org.springframework.data.domain.Sort.Direction.DESC;
 
 @DataJpaTest
 public class ItemRequestStorageTest {
@@ -98,4 +101,38 @@ public class ItemRequestStorageTest {
         assertEquals(0, itemRequestStorage.findAllByAuthorIdNot(user.getId(), pageRequest).getContent().size());
         assertEquals(2, itemRequestStorage.findAllByAuthorIdNot(anotherUser.getId(), pageRequest).getContent().size());
     }
+
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
+    void testFindAllByAuthorIdNotAfterCursor() {
+        User user = new User();
+        user.setName("name");
+        user.setEmail("email@user.com");
+        user = userStorage.save(user);
+
+        User anotherUser = new User();
+        anotherUser.setName("anotherUser");
+        anotherUser.setEmail("anotherUser@user.com");
+        anotherUser = userStorage.save(anotherUser);
+
+        ItemRequest itemRequest = new ItemRequest();
+        itemRequest.setAuthor(user);
+        itemRequest.setDescription("request");
+        itemRequest = itemRequestStorage.save(itemRequest);
+        itemRequest.setCreated(itemRequest.getCreated().truncatedTo(ChronoUnit.SECONDS));
+
+        ItemRequest itemRequest2 = new ItemRequest();
+        itemRequest2.setAuthor(user);
+        itemRequest2.setDescription("new request");
+        itemRequest2 = itemRequestStorage.save(itemRequest2);
+        itemRequest2.setCreated(itemRequest.getCreated());
+        itemRequestStorage.flush();
+
+        PageRequest limit = PageRequest.of(0, 20, Sort.by(DESC, "created").and(Sort.by(DESC, "id")));
+        List<ItemRequest> requests = itemRequestStorage.findAllByAuthorIdNotAfterCursor(anotherUser.getId(),
+                itemRequest2.getCreated(), itemRequest2.getId(), limit);
+
+        assertEquals(1, requests.size());
+        assertEquals(itemRequest.getId(), requests.get(0).getId());
+    }
 }
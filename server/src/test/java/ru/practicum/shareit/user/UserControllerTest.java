@@ -8,6 +8,7 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.cache.EntityTags;
 import ru.practicum.shareit.user.controller.UserController;
 import ru.practicum.shareit.user.dto.UserRequestDto;
 import ru.practicum.shareit.user.dto.UserResponseDto;
@@ -19,6 +20,8 @@ import java.util.List;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
@@ -32,6 +35,8 @@ public class UserControllerTest {
     MockMvc mvc;
     @MockBean
     UserService userService;
+    @MockBean
+    EntityTags entityTags;
 
     private static UserRequestDto userRequestDto;
     private static UserResponseDto userResponseDto;
@@ -108,6 +113,17 @@ public class UserControllerTest {
                 .andExpect(jsonPath("$.email", is(userResponseDto.getEmail())));
     }
 
+    @Test
+    void testFindUserByIdNotModified() throws Exception {
+        when(entityTags.userTag(1L)).thenReturn("u1-epoch-1");
+
+        mvc.perform(get("/users/1")
+                        .header("If-None-Match", "\"u1-epoch-1\""))
+                .andExpect(status().isNotModified());
+
+        verify(userService, never()).findById(anyLong());
+    }
+
     @Test
     void testDeleteUser() throws Exception {
         mvc.perform(delete("/users/1")
@@ -1,24 +1,100 @@
 package ru.practicum.shareit.user;
 
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.batch.BatchResult;
 import ru.practicum.shareit.exception.exceptions.NotFoundException;
+import ru.practicum.shareit.item.dto.ItemRequestDto;
+import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.item.repository.ItemStorage;
+import ru.practicum.shareit.item.service.impl.ItemServiceImpl;
+import ru.practicum.shareit.request.dto.ItemRequestRequestDto;
+import ru.practicum.shareit.request.dto.ItemRequestResponseDto;
+import ru.practicum.shareit.request.service.impl.ItemRequestServiceImpl;
 import ru.practicum.shareit.user.dto.UserRequestDto;
 import ru.practicum.shareit.user.dto.UserResponseDto;
 import ru.practicum.shareit.user.service.impl.UserServiceImpl;
 
+import javax.persistence.EntityManagerFactory;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 @SpringBootTest
 public class UserIntegrateTest {
     @Autowired
     private UserServiceImpl userService;
+    @Autowired
+    private ItemServiceImpl itemService;
+    @Autowired
+    private ItemRequestServiceImpl itemRequestService;
+    @Autowired
+    private ItemStorage itemStorage;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
+    public void createAllReportsPerElementResults() {
+        UserRequestDto existing = new UserRequestDto();
+        existing.setName("user");
+        existing.setEmail("user@user.com");
+        userService.create(existing);
+
+        UserRequestDto first = new UserRequestDto();
+        first.setName("first");
+        first.setEmail("first@user.com");
+        UserRequestDto duplicate = new UserRequestDto();
+        duplicate.setName("duplicate");
+        duplicate.setEmail("first@user.com");
+        UserRequestDto taken = new UserRequestDto();
+        taken.setName("taken");
+        taken.setEmail("user@user.com");
+        UserRequestDto withoutEmail = new UserRequestDto();
+        withoutEmail.setName("withoutEmail");
+
+        List<BatchResult<UserResponseDto>> results = userService.createAll(List.of(first, duplicate, taken,
+                withoutEmail));
+
+        assertEquals(4, results.size());
+        assertEquals("first", results.get(0).getResult().getName());
+        assertNotNull(results.get(0).getResult().getId());
+        assertEquals("Пользователь с email first@user.com уже существует", results.get(1).getError());
+        assertEquals("Пользователь с email user@user.com уже существует", results.get(2).getError());
+        assertNotNull(results.get(3).getError());
+        assertEquals(2, userService.findAll().size());
+    }
+
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
+    public void findByIdUsesSecondLevelCache() {
+        UserRequestDto creationDto = new UserRequestDto();
+        creationDto.setName("user");
+        creationDto.setEmail("user@user.com");
+        UserResponseDto newUser = userService.create(creationDto);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        userService.findById(newUser.getId());
+        statistics.clear();
+        userService.findById(newUser.getId());
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getDomainDataRegionStatistics("users").getHitCount());
+
+        UserRequestDto updateDto = new UserRequestDto();
+        updateDto.setName("updated");
+        userService.update(updateDto, newUser.getId());
+
+        assertEquals("updated", userService.findById(newUser.getId()).getName());
+    }
 
     @Test
     @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
@@ -109,4 +185,36 @@ public class UserIntegrateTest {
 
         assertEquals(0, userService.findAll().size());
     }
+
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
+    void deleteEvictsCascadedItemsFromSecondLevelCache() {
+        UserRequestDto ownerDto = new UserRequestDto();
+        ownerDto.setName("owner");
+        ownerDto.setEmail("owner@user.com");
+        UserResponseDto owner = userService.create(ownerDto);
+        UserRequestDto authorDto = new UserRequestDto();
+        authorDto.setName("author");
+        authorDto.setEmail("author@user.com");
+        UserResponseDto author = userService.create(authorDto);
+
+        ItemRequestRequestDto itemRequestDto = new ItemRequestRequestDto();
+        itemRequestDto.setDescription("request");
+        ItemRequestResponseDto itemRequest = itemRequestService.create(itemRequestDto, author.getId());
+        ItemRequestDto itemDto = new ItemRequestDto();
+        itemDto.setName("item");
+        itemDto.setDescription("desc");
+        itemDto.setAvailable(true);
+        itemDto.setRequestId(itemRequest.getId());
+        ItemResponseDto item = itemService.create(owner.getId(), itemDto);
+
+        assertTrue(itemStorage.findById(item.getId()).isPresent());
+        assertEquals(1, itemRequestService.findById(author.getId(), itemRequest.getId()).getItems().size());
+
+        userService.delete(owner.getId());
+
+        assertTrue(itemStorage.findById(item.getId()).isEmpty());
+        assertThrows(NotFoundException.class, () -> itemService.findById(item.getId(), author.getId()));
+        assertTrue(itemRequestService.findById(author.getId(), itemRequest.getId()).getItems().isEmpty());
+    }
 }
@@ -7,7 +7,13 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.dao.DataIntegrityViolationException;
+import ru.practicum.shareit.booking.interval.BookingIntervalIndex;
+import ru.practicum.shareit.cache.EntityTags;
+import ru.practicum.shareit.cache.GuardCache;
+import ru.practicum.shareit.cache.SecondLevelCache;
 import ru.practicum.shareit.exception.exceptions.NotFoundException;
+import ru.practicum.shareit.item.repository.ItemStorage;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
 import ru.practicum.shareit.user.dto.UserMapper;
 import ru.practicum.shareit.user.dto.UserRequestDto;
 import ru.practicum.shareit.user.dto.UserResponseDto;
@@ -26,6 +32,18 @@ import static org.junit.jupiter.api.Assertions.*;
 public class UserServiceTest {
     @Mock
     private UserStorage userStorage;
+    @Mock
+    private ItemStorage itemStorage;
+    @Mock
+    private ItemSearchEngine searchEngine;
+    @Mock
+    private GuardCache guardCache;
+    @Mock
+    private BookingIntervalIndex intervalIndex;
+    @Mock
+    private EntityTags entityTags;
+    @Mock
+    private SecondLevelCache secondLevelCache;
     @InjectMocks
     private UserServiceImpl userService;
     private User user;
@@ -91,6 +109,9 @@ public class UserServiceTest {
 
         UserResponseDto userResponseDto = userService.update(updatedUser, 1L);
         verify(userStorage, times(1)).save(any());
+        verify(guardCache, times(1)).evictUser(1L);
+        verify(entityTags, times(1)).touchUser(1L);
+        verify(entityTags, times(1)).touchCommentAuthor(1L);
         assertEquals(updatedUser.getName(), userResponseDto.getName());
         assertEquals(updatedUser.getEmail(), userResponseDto.getEmail());
     }
@@ -118,7 +139,15 @@ public class UserServiceTest {
 
     @Test
     void testDelete() {
+        when(itemStorage.findAllOwnersItemsIds(1L)).thenReturn(List.of(2L, 3L));
+
         userService.delete(1L);
         verify(userStorage, times(1)).deleteById(1L);
+        verify(guardCache, times(1)).evictUser(1L);
+        verify(entityTags, times(1)).touchDeletedUser(1L);
+        verify(intervalIndex, times(1)).evictUserItemsAfterCommit(1L);
+        verify(searchEngine, times(1)).remove(2L);
+        verify(searchEngine, times(1)).remove(3L);
+        verify(secondLevelCache, times(1)).evictItemsAfterCommit();
     }
 }
\ No newline at end of file